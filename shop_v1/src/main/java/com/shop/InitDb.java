@@ -2,6 +2,7 @@ package com.shop;
 
 import com.shop.domain.*;
 import com.shop.domain.item.Book;
+import com.shop.service.OrderChangeVersion;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class InitDb {
     static class InitService {
 
         private final EntityManager em;
+        private final OrderChangeVersion orderChangeVersion;
 
         public void dbInit1() {
             Member member = createMember("userA", "서울", "1", "1111");
@@ -38,6 +40,7 @@ public class InitDb {
             OrderItem orderItem2 = OrderItem.createOrderItem(book2, 20000, 2);
             Order order = Order.createOrder(member, createDelivery(member),
                     orderItem1, orderItem2);
+            order.markChanged(orderChangeVersion.next());
             em.persist(order);
         }
 
@@ -53,6 +56,7 @@ public class InitDb {
             OrderItem orderItem2 = OrderItem.createOrderItem(book2, 40000, 4);
             Order order = Order.createOrder(member, delivery, orderItem1,
                     orderItem2);
+            order.markChanged(orderChangeVersion.next());
             em.persist(order);
         }
 
@@ -1,11 +1,20 @@
 package com.shop;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.hibernate5.jakarta.Hibernate5JakartaModule;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+//R2DBC 커넥션 팩토리 빈이 있으면 JDBC DataSource 자동 설정이 빠지므로 R2DBC 자동 설정은 사용하지 않는다
+@EnableScheduling
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ShopApplication {
 
 	public static void main(String[] args) {
@@ -19,4 +28,16 @@ public class ShopApplication {
 		return module;
 	}
 
+	//Accept 헤더에 따라 JSON 대신 바이너리 포맷으로 응답 - 필드 이름 반복과 텍스트 변환 비용을 줄인다
+	//스프링 부트의 ObjectMapper 설정(모듈, 날짜 포맷 등)을 그대로 사용하기 위해 빌더로 생성
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+
 }
@@ -0,0 +1,72 @@
+package com.shop.api;
+
+import com.shop.dto.CategoryQueryDto;
+import com.shop.dto.ItemQueryDto;
+import com.shop.service.CategoryService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    @PostMapping("/api/categories")
+    public CreateCategoryResponse saveCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        Long categoryId = categoryService.createCategory(request.getName(), request.getParentId());
+        return new CreateCategoryResponse(categoryId);
+    }
+
+    @PostMapping("/api/categories/{id}/items/{itemId}")
+    public void addItem(@PathVariable("id") Long categoryId, @PathVariable("itemId") Long itemId) {
+        categoryService.addItem(categoryId, itemId);
+    }
+
+    /**
+     * 카테고리 트리
+     * - 메모리에 캐시된 트리를 반환 > DB 조회 없음
+     */
+    @GetMapping("/api/categories")
+    public Result<List<CategoryQueryDto>> categories() {
+        return new Result<>(categoryService.findTree());
+    }
+
+    /**
+     * 하위 트리 상품 조회
+     * - 카테고리와 모든 하위 카테고리에 속한 상품을 쿼리 한번으로 페이징 조회
+     */
+    @GetMapping("/api/categories/{id}/items")
+    public Result<List<ItemQueryDto>> categoryItems(
+            @PathVariable("id") Long categoryId,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return new Result<>(categoryService.findItemsInSubtree(categoryId, offset, limit));
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+}
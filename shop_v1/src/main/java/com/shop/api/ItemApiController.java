@@ -0,0 +1,47 @@
+package com.shop.api;
+
+import com.shop.dto.ItemQueryDto;
+import com.shop.service.ItemSearchIndex;
+import com.shop.service.ItemSearchIndex.SearchResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    //트랜잭션(커넥션) 없이 메모리 색인만 사용
+    private final ItemSearchIndex itemSearchIndex;
+
+    /**
+     * 상품 검색
+     * - 상품명, 저자/ISBN(도서), 아티스트(앨범), 감독/배우(영화)의 토큰으로 검색
+     * - 메모리 역색인을 사용하므로 DB 에 LIKE '%x%' 쿼리가 나가지 않는다
+     * - 점수순 정렬 후 offset / limit 으로 페이징
+     */
+    @GetMapping("/api/items/search")
+    public SearchResponse search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        SearchResult result = itemSearchIndex.search(query, offset, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        return new SearchResponse(result.items(), result.total());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class SearchResponse {
+        private List<ItemQueryDto> data;
+        private int total;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.shop.api;
+
+import com.shop.limit.AdaptiveLimiter;
+import com.shop.limit.ConcurrencyLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shop.limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LimitApiController {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    /**
+     * 벌크헤드와 API 별 현재 제한, 실행 중, 대기 중, 거절 건수
+     */
+    @GetMapping("/api/limits")
+    public List<AdaptiveLimiter.Stats> limits() {
+        return concurrencyLimitInterceptor.stats();
+    }
+
+}
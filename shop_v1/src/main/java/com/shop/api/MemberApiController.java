@@ -1,6 +1,7 @@
 package com.shop.api;
 
 import com.shop.domain.Member;
+import com.shop.dto.MemberQueryDto;
 import com.shop.service.MemberService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -16,6 +17,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MemberApiController {
 
+    private static final int MAX_SLICE_SIZE = 1000;
+
     private final MemberService memberService;
 
     /**
@@ -66,6 +69,27 @@ public class MemberApiController {
         return new Result(data);
     }
 
+    /**
+     * V3 DTO 직접 조회 + Slice 페이징
+     * - 필요한 컬럼(id, name)만 SELECT 하고 엔티티를 영속성 컨텍스트에 올리지 않는다
+     * - 전체 count 쿼리 없이 limit + 1 건을 조회해서 다음 페이지 존재 여부만 알려준다
+     * - lastId 를 넘기면 키셋 페이징 > 응답의 nextId 를 다음 요청의 lastId 로 사용
+     */
+    @GetMapping("/api/v3/members")
+    public SliceResult<MemberQueryDto> membersV3(
+            @RequestParam(value = "lastId", required = false) Long lastId,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        int size = Math.min(Math.max(limit, 1), MAX_SLICE_SIZE);
+        List<MemberQueryDto> members = memberService.findMembersSlice(lastId, Math.max(offset, 0), size);
+
+        boolean hasNext = members.size() > size;
+        List<MemberQueryDto> data = hasNext ? members.subList(0, size) : members;
+        Long nextId = data.isEmpty() ? null : data.get(data.size() - 1).getMemberId();
+        return new SliceResult<>(data, hasNext, nextId);
+    }
+
     @Data
     static class CreateMemberRequest {
         @NotEmpty
@@ -97,6 +121,14 @@ public class MemberApiController {
         private T data;
     }
 
+    @Data
+    @AllArgsConstructor
+    static class SliceResult<T> {
+        private List<T> data;
+        private boolean hasNext;
+        private Long nextId;
+    }
+
     @Data
     @AllArgsConstructor
     static class MemberDto {
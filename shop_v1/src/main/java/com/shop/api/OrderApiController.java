@@ -1,20 +1,52 @@
 package com.shop.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shop.domain.*;
+import com.shop.dto.OrderExpandDto;
 import com.shop.dto.OrderFlatDto;
 import com.shop.dto.OrderItemQueryDto;
 import com.shop.dto.OrderQueryDto;
+import com.shop.limit.ConcurrencyLimit;
+import com.shop.repository.OrderFieldQueryRepository;
+import com.shop.repository.OrderJdbcRepository;
 import com.shop.repository.OrderRepository;
+import com.shop.service.DataVersionTracker;
+import com.shop.service.DataVersionTracker.Table;
+import com.shop.service.OrderDetailCache;
 import com.shop.service.OrderQueryService;
+import com.shop.service.OrderReadCoalescer;
+import com.shop.service.OrderService;
+import com.shop.thread.AsyncExportExecutor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.weaver.ast.Or;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -23,13 +55,32 @@ import java.util.stream.Collectors;
 public class OrderApiController {
 
     private final OrderRepository orderRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderFieldQueryRepository orderFieldQueryRepository;
     private final OrderQueryService orderQueryService;
+    private final DataVersionTracker dataVersionTracker;
+    private final OrderDetailCache orderDetailCache;
+    private final OrderService orderService;
+    private final OrderReadCoalescer orderReadCoalescer;
+    private final ObjectMapper objectMapper;
+    private final AsyncExportExecutor asyncExportExecutor;
+
+    private static final Table[] ORDER_TABLES = {Table.ORDER, Table.ITEM, Table.MEMBER};
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @Value("${shop.order.multi-get.max-ids:100}")
+    private int maxMultiGetIds;
+
+    //샤드 모드에서는 끈다 - 샤드 주문은 변경 버전이 없어 변경분에 나타나지 않는다
+    @Value("${shop.order.changes.enabled:true}")
+    private boolean changesEnabled;
 
     //컬렉션 조회 최적화
 
     /**
      *  V1 엔티티 직접 노출
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v1/orders")
     public List<Order> ordersV1() {
         List<Order> orders = orderRepository.findOrders(new OrderSearch());
@@ -51,6 +102,7 @@ public class OrderApiController {
      *
      * OSIV 전략을 사용하지 않는다면 지연 로딩을 트랜잭션 안에서 처리해야 한다
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v1-1/orders")
     public List<Order> orderV1_1() {
         return orderQueryService.getOrders();
@@ -59,6 +111,7 @@ public class OrderApiController {
     /**
      * V2 DTO 변환
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v2/orders")
     public List<OrderDto> ordersV2() {
         return orderRepository.findOrders(new OrderSearch())
@@ -69,13 +122,12 @@ public class OrderApiController {
 
     /**
      * 페치 조인 최적화
+     * - 동시에 들어온 같은 조회는 한번만 실행하고 DTO 로 변환한 결과를 공유
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v3/orders")
     public List<OrderDto> ordersV3() {
-        return orderRepository.findOrdersAndItems()
-                .stream()
-                .map(OrderDto::new)
-                .collect(Collectors.toList());
+        return orderReadCoalescer.findOrdersAndItems(OrderDto.class, OrderDto::new);
     }
 
     /**
@@ -95,6 +147,7 @@ public class OrderApiController {
     /**
      * DTO 직접 조회
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v4/orders")
     public List<OrderQueryDto> orderV4() {
         return orderRepository.findOrdersAndItemsToDto();
@@ -102,21 +155,196 @@ public class OrderApiController {
 
     /**
      * DTO 직접 조회 최적화
+     * - 조건부 요청(ETag / Last-Modified) 지원
+     * - 주문, 상품, 회원 버전이 그대로라면 DB 조회와 직렬화 없이 304 Not Modified 응답
+     * - 동시에 들어온 같은 조회는 한번만 실행하고 결과를 공유
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v5/orders")
-    public List<OrderQueryDto> orderV5() {
-        return orderRepository.findOrdersAndItemsToDtoV2();
+    public List<OrderQueryDto> orderV5(
+            @RequestParam(value = "includeArchive", defaultValue = "false") boolean includeArchive,
+            WebRequest request) {
+        //버전을 쿼리보다 먼저 읽어야 새 데이터가 이전 ETag 로 캐시되는 일이 없다
+        if (request.checkNotModified(dataVersionTracker.etag(ORDER_TABLES), dataVersionTracker.lastModified(ORDER_TABLES))) {
+            return null;
+        }
+        return orderReadCoalescer.findOrdersAndItemsToDtoV2(includeArchive);
     }
 
     /**
      * DTO 직접 조회 한방 쿼리
      * - API 스펙과 맞추려면 애플리케이션 내에서 추가적인 작업 필요
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v6/orders")
     public List<OrderFlatDto> orderV6() {
         return orderRepository.findOrdersAndItemsToDtoV3();
     }
 
+    /**
+     * JdbcTemplate 조회
+     * - 한방 쿼리 row 를 바로 OrderQueryDto 로 묶어서 응답 > 쿼리 1번, 엔티티/JPQL 처리 없음
+     */
+    @ConcurrencyLimit
+    @GetMapping("/api/v7/orders")
+    public List<OrderQueryDto> orderV7() {
+        return orderJdbcRepository.findOrdersAndItemsToDto();
+    }
+
+    /**
+     * 엔티티 그래프 조회
+     * - expand=member,delivery,items 로 필요한 연관관계만 조회하고 요청하지 않은 필드는 응답에서 제외
+     * - 주문 헤더만 필요하면 연관관계를 조회하지 않는다
+     */
+    @ConcurrencyLimit
+    @GetMapping("/api/v8/orders")
+    public List<OrderExpandDto> orderV8(
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        Set<OrderExpand> expands;
+        try {
+            expands = OrderExpand.parse(expand);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return orderQueryService.findOrders(expands, Math.max(offset, 0), Math.min(Math.max(limit, 1), 1000));
+    }
+
+    /**
+     * 필드 선택 조회
+     * - fields=orderId,orderStatus,orderItems 처럼 필요한 필드만 조회하고 Map 으로 응답
+     * - 회원, 배송 필드를 요청하지 않으면 조인하지 않고 orderItems 를 요청하지 않으면 주문상품을 조회하지 않는다
+     */
+    @ConcurrencyLimit
+    @GetMapping("/api/v9/orders")
+    public List<Map<String, Object>> orderV9(
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            return orderFieldQueryRepository.findOrdersWithItems(fields == null ? List.of() : fields,
+                    Math.max(offset, 0), Math.min(Math.max(limit, 1), 1000));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * DTO 직접 조회 한방 쿼리 - 비동기 스트리밍
+     * - 조회와 직렬화를 내보내기 전용 실행기에서 실행하므로 요청 스레드를 바로 반납한다
+     * - 한 row 씩 스크롤하면서 바로 응답에 쓰므로 건수와 관계없이 힙 사용량이 일정하다
+     * - 전용 실행기 크기만큼만 동시에 실행되므로 조회 벌크헤드를 사용하지 않는다
+     * - 응답 쓰기는 모두 guard 를 거친다 - 시간 초과 후에는 쓰지 않고 스크롤을 멈춰 커넥션을 반납
+     */
+    @GetMapping("/api/v6/orders/stream")
+    public WebAsyncTask<Void> orderV6Stream(HttpServletResponse response) {
+        return asyncExportExecutor.submit(guard -> {
+            JsonGenerator generator = guard.call(() -> {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                return objectMapper.getFactory().createGenerator(response.getOutputStream());
+            });
+            guard.run(() -> generator.writeStartArray());
+            orderRepository.scrollOrdersAndItemsToDtoV3(STREAM_FETCH_SIZE, row -> {
+                try {
+                    guard.run(() -> generator.writeObject(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            guard.run(() -> {
+                generator.writeEndArray();
+                generator.close();
+            });
+        });
+    }
+
+    //내보내기 실행기의 대기열이 가득 찬 경우
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> asyncRejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .build();
+    }
+
+    /**
+     * 변경분 동기화
+     * - after 이후에 생성/취소된 주문을 변경 버전 순으로 반환 > 전체 목록 대신 변경분만 전송
+     * - 응답의 lastVersion 을 다음 요청의 after 로 사용하고 hasNext 가 false 가 될 때까지 반복
+     */
+    @GetMapping("/api/orders/changes")
+    public ChangeResult orderChanges(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        if (!changesEnabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "변경분 동기화를 사용하지 않습니다.");
+        }
+        int size = Math.min(Math.max(limit, 1), 1000);
+        List<OrderQueryDto> orders = orderQueryService.findOrdersChangedAfter(after, size + 1);
+        boolean hasNext = orders.size() > size;
+        List<OrderQueryDto> data = hasNext ? orders.subList(0, size) : orders;
+        long lastVersion = data.isEmpty() ? after : data.get(data.size() - 1).getChangeVersion();
+        return new ChangeResult(data, lastVersion, hasNext);
+    }
+
+    /**
+     * 주문 단건 상세
+     * - 주문, 회원명, 배송, 주문상품을 쿼리 2번으로 조회하고 캐시에서 먼저 찾는다(read-through)
+     */
+    @GetMapping("/api/orders/{orderId}")
+    public OrderQueryDto order(@PathVariable("orderId") Long orderId) {
+        OrderQueryDto order = orderDetailCache.get(orderId);
+        if (order == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "주문이 존재하지 않습니다. orderId=" + orderId);
+        }
+        return order;
+    }
+
+    /**
+     * 주문 여러 건 조회
+     * - 화면에서 주문을 하나씩 반복 조회하는 대신 식별자 목록으로 한번에 조회 > 쿼리 2번
+     * - 요청한 순서대로 반환하고 존재하지 않는 식별자는 missingIds 로 알려준다
+     */
+    @GetMapping(value = "/api/orders", params = "ids")
+    public MultiGetResult orders(@RequestParam("ids") List<Long> ids) {
+        List<Long> orderIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (orderIds.size() > maxMultiGetIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "한번에 조회할 수 있는 주문은 최대 " + maxMultiGetIds + "건 입니다.");
+        }
+
+        Map<Long, OrderQueryDto> found = orderRepository.findOrdersAndItemsByIds(orderIds)
+                .stream()
+                .collect(Collectors.toMap(OrderQueryDto::getOrderId, Function.identity()));
+
+        List<OrderQueryDto> data = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            OrderQueryDto order = found.get(orderId);
+            if (order == null) {
+                missingIds.add(orderId);
+            } else {
+                data.add(order);
+            }
+        }
+        return new MultiGetResult(data, missingIds);
+    }
+
+    @PostMapping("/api/orders/{orderId}/delivery")
+    public void changeDeliveryStatus(@PathVariable("orderId") Long orderId,
+                                     @RequestParam("status") DeliveryStatus status) {
+        orderService.changeDeliveryStatus(orderId, status);
+    }
+
+    /**
+     * 주문 상세 캐시 통계 - 적중률, 평균 로딩 시간
+     */
+    @GetMapping("/api/orders/cache/stats")
+    public OrderDetailCache.Stats orderCacheStats() {
+        return orderDetailCache.stats();
+    }
+
     /**
      * 권장 순서
      * 1. 엔티티 조회 방식으로 우선 접근
@@ -132,6 +360,28 @@ public class OrderApiController {
      * 코드 복잡도와 성능 사이에서 줄타기를 해야 한다
      */
 
+    @Data
+    @AllArgsConstructor
+    static class MultiGetResult {
+
+        private List<OrderQueryDto> data;
+
+        private List<Long> missingIds;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ChangeResult {
+
+        private List<OrderQueryDto> data;
+
+        private long lastVersion;
+
+        private boolean hasNext;
+
+    }
+
     @Data
     static class OrderDto {
 
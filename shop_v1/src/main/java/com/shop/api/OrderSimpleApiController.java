@@ -5,15 +5,22 @@ import com.shop.domain.Order;
 import com.shop.domain.OrderSearch;
 import com.shop.domain.OrderStatus;
 import com.shop.dto.SimpleOrderQueryDto;
+import com.shop.limit.ConcurrencyLimit;
+import com.shop.repository.OrderFieldQueryRepository;
+import com.shop.repository.OrderJdbcRepository;
 import com.shop.repository.OrderRepository;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,6 +28,8 @@ import java.util.stream.Collectors;
 public class OrderSimpleApiController {
 
     private final OrderRepository orderRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderFieldQueryRepository orderFieldQueryRepository;
 
     /**
      * V1 엔티티 직접 노출
@@ -30,6 +39,7 @@ public class OrderSimpleApiController {
      * - Hibernate5JakartaModule 를 스프링 빈으로 등록하면 해결 가능
      * - 그냥 엔티티를 직접 노출하지 말자 > DTO 로 변환하자
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v1/simple-orders")
     public List<Order> ordersV1() {
         List<Order> orders = orderRepository.findOrders(new OrderSearch());
@@ -49,6 +59,7 @@ public class OrderSimpleApiController {
      * - 지연 로딩은 영속성 컨텍스트에서 조회하기 때문에 이미 조회된 경우 쿼리를 생략한다
      * - 만약 주문 조회의 결과가 4건이라면 최악의 경우 1 + 4 + 4번의 쿼리가 발생
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v2/simple-orders")
     public List<SimpleOrderDto> ordersV2() {
         return orderRepository.findOrders(new OrderSearch())
@@ -62,6 +73,7 @@ public class OrderSimpleApiController {
      * - 엔티티를 페치 조인을 사용하여 쿼리 한번에 조회
      * - 페치 조인으로 member 와 delivery 가 이미 조회된 상태로 지연 로딩 X
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v3/simple-orders")
     public List<SimpleOrderDto> ordersV3() {
         return orderRepository.findOrdersFetch()
@@ -74,10 +86,52 @@ public class OrderSimpleApiController {
      * V4 DTO 로 바로 조회
      * - SELECT 절에서 원하는 데이터만 직접 선택하므로 성능 향샹(생각보다 미비)
      * - 하지만 리포지토리 재사용성이 떨어지고 API 스펙에 맞춘 코드가 리포지토리에 들어간다
+     * - includeArchive=true 면 보관된 주문도 함께 조회
      */
+    @ConcurrencyLimit
     @GetMapping("/api/v4/simple-orders")
-    public List<SimpleOrderQueryDto> ordersV4() {
-        return orderRepository.findOrdersToDto();
+    public List<SimpleOrderQueryDto> ordersV4(
+            @RequestParam(value = "includeArchive", defaultValue = "false") boolean includeArchive) {
+        return orderRepository.findOrdersToDto(includeArchive);
+    }
+
+    /**
+     * V4-1 매출 순 조회
+     * - 주문에 반정규화된 합계 컬럼으로 정렬하므로 주문상품을 조인하지 않고 페이징 가능
+     */
+    @GetMapping("/api/v4-1/simple-orders")
+    public List<SimpleOrderQueryDto> ordersV4_1(
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return orderRepository.findOrdersByTotalPrice(offset, limit);
+    }
+
+    /**
+     * V5 JdbcTemplate 으로 직접 조회
+     * - 쿼리 선택 순서의 마지막 단계 - row 를 바로 DTO 로 매핑하므로 JPQL 변환과 생성자 리플렉션이 없다
+     */
+    @ConcurrencyLimit
+    @GetMapping("/api/v5/simple-orders")
+    public List<SimpleOrderQueryDto> ordersV5() {
+        return orderJdbcRepository.findOrdersToDto();
+    }
+
+    /**
+     * V6 필드 선택 조회
+     * - fields=orderId,orderStatus 처럼 필요한 필드만 select 절에 넣어서 조회하고 Map 으로 응답
+     * - 회원, 배송 필드를 요청하지 않으면 조인하지 않으므로 row 크기와 직렬화 비용이 줄어든다
+     */
+    @GetMapping("/api/v6/simple-orders")
+    public List<Map<String, Object>> ordersV6(
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            return orderFieldQueryRepository.findOrders(fields == null ? List.of() : fields,
+                    Math.max(offset, 0), Math.min(Math.max(limit, 1), 1000));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     /**
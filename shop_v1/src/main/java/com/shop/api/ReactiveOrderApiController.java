@@ -0,0 +1,34 @@
+package com.shop.api;
+
+import com.shop.dto.OrderQueryDto;
+import com.shop.dto.SimpleOrderQueryDto;
+import com.shop.repository.ReactiveOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+public class ReactiveOrderApiController {
+
+    private final ReactiveOrderRepository reactiveOrderRepository;
+
+    /**
+     * 논블로킹 조회
+     * - Flux 를 반환하면 요청 스레드는 바로 반납되고 row 가 읽히는 대로 응답한다
+     * - Accept: application/x-ndjson 이면 한 건씩 스트리밍, application/json 이면 모아서 배열로 응답
+     * - JDBC 커넥션을 사용하지 않으므로 동시 실행 제한(벌크헤드) 대상에서 제외
+     */
+    @GetMapping(value = "/api/reactive/simple-orders", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<SimpleOrderQueryDto> simpleOrders() {
+        return reactiveOrderRepository.findOrdersToDto();
+    }
+
+    @GetMapping(value = "/api/reactive/orders", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderQueryDto> orders() {
+        return reactiveOrderRepository.findOrdersAndItemsToDto();
+    }
+
+}
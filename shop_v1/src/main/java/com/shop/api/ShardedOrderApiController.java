@@ -0,0 +1,80 @@
+package com.shop.api;
+
+import com.shop.dto.SimpleOrderQueryDto;
+import com.shop.shard.ShardedOrderRepository;
+import com.shop.shard.ShardedOrderService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shop.shard", name = "enabled", havingValue = "true")
+public class ShardedOrderApiController {
+
+    private final ShardedOrderRepository shardedOrderRepository;
+    private final ShardedOrderService shardedOrderService;
+
+    /**
+     * 샤드 주문 생성
+     * - 회원의 샤드 하나에 주문, 배송, 주문상품을 저장하고 재고는 기본 DB 에서 차감
+     */
+    @PostMapping("/api/sharded/orders")
+    public CreateOrderResponse order(
+            @RequestParam("memberId") Long memberId,
+            @RequestParam("itemId") Long itemId,
+            @RequestParam("count") int count) {
+        return new CreateOrderResponse(shardedOrderService.order(memberId, itemId, count));
+    }
+
+    /**
+     * 샤드 전체 조회
+     * - 모든 샤드에 동시에 조회하고 주문 식별자 순으로 병합
+     * - 키셋 페이징 > 응답의 nextId 를 다음 요청의 lastId 로 사용
+     */
+    @GetMapping("/api/sharded/simple-orders")
+    public SliceResult<SimpleOrderQueryDto> orders(
+            @RequestParam(value = "lastId", required = false) Long lastId,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        int size = Math.min(Math.max(limit, 1), 1000);
+        List<SimpleOrderQueryDto> orders = shardedOrderRepository.findOrdersToDto(lastId, size + 1);
+
+        boolean hasNext = orders.size() > size;
+        List<SimpleOrderQueryDto> data = hasNext ? orders.subList(0, size) : orders;
+        Long nextId = data.isEmpty() ? null : data.get(data.size() - 1).getOrderId();
+        return new SliceResult<>(data, hasNext, nextId);
+    }
+
+    /**
+     * 회원 단건 조회
+     * - member_id 로 샤드를 결정하므로 샤드 하나만 조회
+     */
+    @GetMapping("/api/sharded/members/{memberId}/simple-orders")
+    public List<SimpleOrderQueryDto> memberOrders(@PathVariable("memberId") Long memberId) {
+        return shardedOrderRepository.findOrdersToDtoByMember(memberId);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateOrderResponse {
+        private Long orderId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class SliceResult<T> {
+        private List<T> data;
+        private boolean hasNext;
+        private Long nextId;
+    }
+
+}
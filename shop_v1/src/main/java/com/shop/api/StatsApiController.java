@@ -0,0 +1,73 @@
+package com.shop.api;
+
+import com.shop.domain.OrderStatus;
+import com.shop.dto.DailySalesQueryDto;
+import com.shop.dto.SalesSummaryDto;
+import com.shop.service.OrderSnapshot;
+import com.shop.service.SalesRollupService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매출 통계
+ * - 주문 시점에 증분 갱신되는 일자 x 상품 집계 테이블만 조회한다
+ * - orders, order_item 조인 없이 기간만큼의 집계 행을 인덱스로 읽는다
+ */
+@RestController
+@RequiredArgsConstructor
+public class StatsApiController {
+
+    private final SalesRollupService salesRollupService;
+    private final OrderSnapshot orderSnapshot;
+
+    @GetMapping("/api/stats/daily-sales")
+    public Result<List<DailySalesQueryDto>> dailySales(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new Result<>(salesRollupService.findDailyTotals(from, to));
+    }
+
+    @GetMapping("/api/stats/daily-sales/items")
+    public Result<List<DailySalesQueryDto>> dailyItemSales(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "itemId", required = false) Long itemId) {
+        return new Result<>(salesRollupService.findItemSales(from, to, itemId));
+    }
+
+    /**
+     * 컬럼형 스냅샷 집계
+     * - 주기적으로 갱신되는 메모리 스냅샷을 병렬 스캔 > DB 조회 없음(최대 갱신 주기만큼 지연된 데이터)
+     * - 기간, 주문 상태는 선택 조건
+     */
+    @GetMapping("/api/stats/snapshot/items")
+    public Result<List<SalesSummaryDto>> snapshotItemSales(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) OrderStatus status) {
+        return new Result<>(orderSnapshot.sumByItem(from, to, status));
+    }
+
+    @GetMapping("/api/stats/snapshot/days")
+    public Result<List<SalesSummaryDto>> snapshotDailySales(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) OrderStatus status) {
+        return new Result<>(orderSnapshot.sumByDay(from, to, status));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+}
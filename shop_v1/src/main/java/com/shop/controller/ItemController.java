@@ -2,6 +2,9 @@ package com.shop.controller;
 
 import com.shop.domain.item.Book;
 import com.shop.domain.item.Item;
+import com.shop.limit.ConcurrencyLimit;
+import com.shop.service.DataVersionTracker;
+import com.shop.service.DataVersionTracker.Table;
 import com.shop.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final DataVersionTracker dataVersionTracker;
 
     @GetMapping("/items/new")
     public String createForm(Model model) {
@@ -82,8 +87,13 @@ public class ItemController {
         return "redirect:/items";
     }
 
+    //상품 버전이 그대로라면 조회 없이 304 Not Modified 응답
+    @ConcurrencyLimit
     @GetMapping("/items")
-    public String list(Model model) {
+    public String list(Model model, WebRequest request) {
+        if (request.checkNotModified(dataVersionTracker.etag(Table.ITEM), dataVersionTracker.lastModified(Table.ITEM))) {
+            return null;
+        }
         List<Item> items = itemService.findAll();
         model.addAttribute("items", items);
         return "items/itemList";
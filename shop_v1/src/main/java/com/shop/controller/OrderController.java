@@ -4,6 +4,7 @@ import com.shop.domain.Member;
 import com.shop.domain.Order;
 import com.shop.domain.OrderSearch;
 import com.shop.domain.item.Item;
+import com.shop.limit.ConcurrencyLimit;
 import com.shop.service.ItemService;
 import com.shop.service.MemberService;
 import com.shop.service.OrderService;
@@ -42,6 +43,7 @@ public class OrderController {
         return "redirect:/orders";
     }
 
+    @ConcurrencyLimit
     @GetMapping(value = "/orders")
     public String orderList(OrderSearch orderSearch, Model model) {
         List<Order> orders = orderService.findOrders(orderSearch);
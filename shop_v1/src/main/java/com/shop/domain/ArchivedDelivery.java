@@ -0,0 +1,24 @@
+package com.shop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@Table(name = "delivery_archive")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedDelivery {
+
+    @Id
+    @Column(name = "delivery_id")
+    private Long deliveryId;
+
+    @Embedded
+    private Address address;
+
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus status;
+
+}
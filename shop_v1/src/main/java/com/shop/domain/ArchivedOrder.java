@@ -0,0 +1,46 @@
+package com.shop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//보관 주문 - orders 와 같은 컬럼을 가지며 연관관계 없이 식별자만 보관
+//보관 테이블은 읽기 전용이므로 아카이브 배치 외에는 변경하지 않는다
+@Entity
+@Getter
+@Table(name = "orders_archive", indexes = @Index(name = "idx_orders_archive_order_date", columnList = "order_date"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(name = "delivery_id")
+    private Long deliveryId;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(name = "total_price")
+    private int totalPrice;
+
+    @Column(name = "line_count")
+    private int lineCount;
+
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+}
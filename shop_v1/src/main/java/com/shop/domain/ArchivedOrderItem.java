@@ -0,0 +1,29 @@
+package com.shop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@Table(name = "order_item_archive", indexes = @Index(name = "idx_order_item_archive_order", columnList = "order_id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedOrderItem {
+
+    @Id
+    @Column(name = "order_item_id")
+    private Long orderItemId;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "order_price")
+    private int orderPrice;
+
+    private int count;
+
+}
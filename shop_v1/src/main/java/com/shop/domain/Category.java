@@ -11,6 +11,8 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
+//경로 컬럼 인덱스 - 하위 트리 조회를 path like '/1/3/%' 한번의 범위 스캔으로 처리
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path"))
 public class Category {
 
     @Id
@@ -20,13 +22,9 @@ public class Category {
 
     private String name;
 
-    @ManyToMany //실무에서는 사용하지 말자
-    @JoinTable(
-            name = "category_item",
-            joinColumns = @JoinColumn(name = "category_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id")
-    )
-    private List<Item> items = new ArrayList<>();
+    //다대다 대신 연결 엔티티를 사용 - 연결 테이블에 인덱스와 추가 컬럼을 둘 수 있다
+    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
+    private List<CategoryItem> categoryItems = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
@@ -35,9 +33,45 @@ public class Category {
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
+    //Materialized Path - 루트부터 자신까지의 식별자 경로(예: /1/3/7/)
+    //부모를 따라 지연 로딩을 반복하지 않고 경로 접두사로 하위 트리 전체를 찾을 수 있다
+    private String path;
+
+    private int depth;
+
     public void addChildCategory(Category child) {
         this.child.add(child);
         child.setParent(this);
+        child.refreshPath();
+    }
+
+    public void addItem(Item item) {
+        categoryItems.add(CategoryItem.createCategoryItem(this, item));
+    }
+
+    //IDENTITY 전략은 persist 시점에 식별자가 생성되므로 저장 직후 경로를 계산한다
+    //변경된 경로는 변경 감지로 반영된다
+    @PostPersist
+    protected void assignPath() {
+        refreshPath();
+    }
+
+    //식별자가 없다면 저장 시점(@PostPersist)으로 미룬다
+    //이미 저장된 카테고리를 다른 부모로 옮기면 하위 카테고리의 경로도 함께 변경
+    private void refreshPath() {
+        if (id == null || (parent != null && parent.getPath() == null)) {
+            return;
+        }
+        String newPath = (parent == null ? "/" : parent.getPath()) + id + "/";
+        if (newPath.equals(path)) {
+            return;
+        }
+        boolean moved = path != null;
+        path = newPath;
+        depth = parent == null ? 0 : parent.getDepth() + 1;
+        if (moved) {
+            child.forEach(Category::refreshPath);
+        }
     }
 
 }
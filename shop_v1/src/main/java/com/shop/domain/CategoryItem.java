@@ -0,0 +1,40 @@
+package com.shop.domain;
+
+import com.shop.domain.item.Item;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "category_item",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_item", columnNames = {"category_id", "item_id"}),
+        indexes = @Index(name = "idx_category_item_item", columnList = "item_id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "category_item_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    public static CategoryItem createCategoryItem(Category category, Item item) {
+        CategoryItem categoryItem = new CategoryItem();
+        categoryItem.setCategory(category);
+        categoryItem.setItem(item);
+        item.getCategoryItems().add(categoryItem);
+        return categoryItem;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.shop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+//일자 x 상품 매출 집계 - 주문 시점에 증분으로 갱신(DailySalesRepository 의 MERGE 로만 쓰기)
+//유니크 인덱스(sales_date, item_id)가 기간 조회의 범위 스캔에도 사용된다
+@Entity
+@Getter
+@Table(name = "daily_sales",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales", columnNames = {"sales_date", "item_id"}))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "daily_sales_id")
+    private Long id;
+
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    //집계 테이블은 상품 엔티티와 연관관계를 맺지 않고 식별자만 보관
+    @Column(name = "item_id")
+    private Long itemId;
+
+    private long orderCount;
+
+    private long quantity;
+
+    private long amount;
+
+}
@@ -15,6 +15,8 @@ public class Delivery {
     @Column(name = "delivery_id")
     private Long id;
 
+    //연관관계 주인이 아닌 OneToOne 은 외래 키가 없어 값이 있는지 알 수 없으므로 프록시를 만들 수 없다
+    //바이트코드 향상(build.gradle)을 적용해야 실제로 지연 로딩된다 - 적용하지 않으면 Delivery 조회 시 Order 를 추가 조회
     @JsonIgnore
     @OneToOne(mappedBy = "delivery", fetch = FetchType.LAZY)
     private Order order;
@@ -11,7 +11,8 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "member")
+//회원 이름은 유니크 인덱스로 관리 - 중복 검증 쿼리가 풀 스캔 대신 인덱스를 타고, 동시 가입 시 최종 판단은 DB 제약조건이 한다
+@Table(name = "member", uniqueConstraints = @UniqueConstraint(name = "uk_member_name", columnNames = "name"))
 public class Member {
 
     @Id
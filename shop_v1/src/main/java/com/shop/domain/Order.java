@@ -15,10 +15,26 @@ import java.util.List;
 @Getter
 @Setter
 //엔티티에서는 가급적 setter 를 사용하지 말자 - setter 가 모두 열려있다면 변경 포인트가 많아져 유지보수가 어렵다
-@Table(name = "orders")
+//주문 합계 인덱스 - 금액 조건 검색과 매출 정렬을 SQL 에서 처리
+//변경 버전 인덱스 - 변경분 동기화 API 가 버전 범위로 조회
+//엔티티 그래프 - 요청한 ToOne 연관관계만 조인으로 함께 조회(expand 파라미터)
+@NamedEntityGraph(name = Order.GRAPH_MEMBER, attributeNodes = @NamedAttributeNode("member"))
+@NamedEntityGraph(name = Order.GRAPH_DELIVERY, attributeNodes = @NamedAttributeNode("delivery"))
+@NamedEntityGraph(name = Order.GRAPH_MEMBER_DELIVERY, attributeNodes = {
+        @NamedAttributeNode("member"),
+        @NamedAttributeNode("delivery")
+})
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_total_price", columnList = "total_price"),
+        @Index(name = "idx_orders_change_version", columnList = "change_version")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
+    public static final String GRAPH_MEMBER = "Order.member";
+    public static final String GRAPH_DELIVERY = "Order.delivery";
+    public static final String GRAPH_MEMBER_DELIVERY = "Order.memberDelivery";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "order_id")
@@ -48,6 +64,24 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    //반정규화 - 합계를 보여주기 위해 주문상품을 모두 조회하지 않도록 주문에 저장
+    //주문상품이 추가될 때 함께 변경되므로 setter 는 열지 않는다
+    @Setter(AccessLevel.NONE)
+    @Column(name = "total_price")
+    private int totalPrice;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "line_count")
+    private int lineCount;
+
+    //생성, 취소 시 증가하는 전역 변경 버전 - 동기화하는 쪽은 마지막으로 받은 버전 이후만 조회
+    @Setter(AccessLevel.NONE)
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime changedAt;
+
     //연관관게 편의 메서드 - 연관관계의 주인이 들고있는게 좋다
     public void setMember(Member member) {
         this.member = member;
@@ -57,6 +91,8 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
+        lineCount++;
     }
 
     public void setDelivery(Delivery delivery) {
@@ -78,6 +114,7 @@ public class Order {
     }
 
     //비즈니스 메서드
+    //취소해도 주문상품은 그대로 남기 때문에 합계는 변하지 않는다(취소 주문의 금액은 상태로 구분)
     public void cancel() {
         if(this.delivery.getStatus() == DeliveryStatus.COMP) {
             throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다.");
@@ -88,7 +125,22 @@ public class Order {
         }
     }
 
-    public int getTotalPrice() {
-        return orderItems.stream().mapToInt(OrderItem::getTotalPrice).sum();
+    //배송 상태 변경 - 취소된 주문은 배송완료 처리할 수 없다
+    public void changeDeliveryStatus(DeliveryStatus deliveryStatus) {
+        if (this.status == OrderStatus.CANCEL && deliveryStatus == DeliveryStatus.COMP) {
+            throw new IllegalStateException("취소된 주문은 배송완료 처리할 수 없습니다.");
+        }
+        this.delivery.setStatus(deliveryStatus);
+    }
+
+    public void markChanged(long changeVersion) {
+        this.changeVersion = changeVersion;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    //정합성 검증에서 불일치가 발견되면 주문상품 기준으로 다시 계산
+    public void recalculateTotal() {
+        this.totalPrice = orderItems.stream().mapToInt(OrderItem::getTotalPrice).sum();
+        this.lineCount = orderItems.size();
     }
 }
@@ -0,0 +1,48 @@
+package com.shop.domain;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 주문 조회 시 함께 조회할 연관관계(expand=member,delivery,items)
+ */
+public enum OrderExpand {
+
+    MEMBER, DELIVERY, ITEMS;
+
+    public static Set<OrderExpand> parse(String expand) {
+        Set<OrderExpand> result = EnumSet.noneOf(OrderExpand.class);
+        if (expand == null || expand.isBlank()) {
+            return result;
+        }
+        for (String name : expand.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            try {
+                result.add(OrderExpand.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 expand 입니다. expand=" + name.trim());
+            }
+        }
+        return result;
+    }
+
+    //ToOne 조합에 맞는 엔티티 그래프 - 컬렉션(items)은 그래프에 넣지 않고 배치 조회
+    public static String graphName(Set<OrderExpand> expand) {
+        boolean member = expand.contains(MEMBER);
+        boolean delivery = expand.contains(DELIVERY);
+        if (member && delivery) {
+            return Order.GRAPH_MEMBER_DELIVERY;
+        }
+        if (member) {
+            return Order.GRAPH_MEMBER;
+        }
+        if (delivery) {
+            return Order.GRAPH_DELIVERY;
+        }
+        return null;
+    }
+
+}
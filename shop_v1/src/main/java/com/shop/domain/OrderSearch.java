@@ -11,4 +11,6 @@ public class OrderSearch {
 
     private OrderStatus orderStatus;
 
+    private Integer minTotalPrice;
+
 }
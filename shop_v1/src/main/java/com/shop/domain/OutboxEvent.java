@@ -0,0 +1,47 @@
+package com.shop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//트랜잭셔널 아웃박스 - 변경과 같은 트랜잭션에서 저장되므로 변경이 커밋되면 이벤트도 반드시 남는다
+//발행 여부는 이벤트 행마다 기록(published_at) - 미발행 이벤트 조회가 인덱스 범위 스캔이 되도록
+@Entity
+@Getter
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_published", columnList = "published_at, outbox_event_id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    //이벤트는 식별자만 전달하고 필요한 데이터는 구독자가 다시 조회
+    private Long aggregateId;
+
+    private LocalDateTime createdAt;
+
+    //null 이면 아직 구독자에게 전달되지 않은 이벤트
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public static OutboxEvent createOutboxEvent(OutboxEventType eventType, Long aggregateId) {
+        OutboxEvent event = new OutboxEvent();
+        event.eventType = eventType;
+        event.aggregateId = aggregateId;
+        event.createdAt = LocalDateTime.now();
+        return event;
+    }
+
+    public void markPublished(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+}
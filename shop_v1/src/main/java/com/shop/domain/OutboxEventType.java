@@ -0,0 +1,7 @@
+package com.shop.domain;
+
+public enum OutboxEventType {
+
+    ORDER_CREATED, ORDER_CANCELED, ORDER_DELIVERY_CHANGED, ITEM_SAVED, ITEM_UPDATED, MEMBER_UPDATED
+
+}
@@ -1,6 +1,7 @@
 package com.shop.domain.item;
 
-import com.shop.domain.Category;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.shop.domain.CategoryItem;
 import com.shop.exception.NotEnoughStockException;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -27,8 +28,9 @@ public abstract class Item {
 
     private int stockQuantity;
 
-    @ManyToMany(mappedBy = "items") //실무에서는 사용하지 말자
-    private List<Category> categories = new ArrayList<>();
+    @JsonIgnore
+    @OneToMany(mappedBy = "item")
+    private List<CategoryItem> categoryItems = new ArrayList<>();
 
     //setter 가 아닌 비즈니스 메서드로 변경하는 것이 좋다
     public void increaseStock(int quantity) {
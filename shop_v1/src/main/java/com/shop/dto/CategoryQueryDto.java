@@ -0,0 +1,32 @@
+package com.shop.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CategoryQueryDto {
+
+    private Long categoryId;
+
+    private String name;
+
+    @JsonIgnore
+    private Long parentId;
+
+    private String path;
+
+    private int depth;
+
+    private List<CategoryQueryDto> child = new ArrayList<>();
+
+    public CategoryQueryDto(Long categoryId, String name, Long parentId, String path, int depth) {
+        this.categoryId = categoryId;
+        this.name = name;
+        this.parentId = parentId;
+        this.path = path;
+        this.depth = depth;
+    }
+}
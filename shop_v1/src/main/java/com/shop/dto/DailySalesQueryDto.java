@@ -0,0 +1,34 @@
+package com.shop.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DailySalesQueryDto {
+
+    private LocalDate salesDate;
+
+    private Long itemId;
+
+    private long orderCount;
+
+    private long quantity;
+
+    private long amount;
+
+    public DailySalesQueryDto(LocalDate salesDate, Long itemId, long orderCount, long quantity, long amount) {
+        this.salesDate = salesDate;
+        this.itemId = itemId;
+        this.orderCount = orderCount;
+        this.quantity = quantity;
+        this.amount = amount;
+    }
+
+    //일자별 합계(전체 상품)
+    public DailySalesQueryDto(LocalDate salesDate, long orderCount, long quantity, long amount) {
+        this(salesDate, null, orderCount, quantity, amount);
+    }
+}
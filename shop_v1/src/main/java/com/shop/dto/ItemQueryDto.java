@@ -0,0 +1,19 @@
+package com.shop.dto;
+
+import lombok.Data;
+
+@Data
+public class ItemQueryDto {
+
+    private Long itemId;
+
+    private String name;
+
+    private int price;
+
+    public ItemQueryDto(Long itemId, String name, int price) {
+        this.itemId = itemId;
+        this.name = name;
+        this.price = price;
+    }
+}
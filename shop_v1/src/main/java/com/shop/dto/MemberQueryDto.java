@@ -0,0 +1,16 @@
+package com.shop.dto;
+
+import lombok.Data;
+
+@Data
+public class MemberQueryDto {
+
+    private Long memberId;
+
+    private String name;
+
+    public MemberQueryDto(Long memberId, String name) {
+        this.memberId = memberId;
+        this.name = name;
+    }
+}
@@ -0,0 +1,44 @@
+package com.shop.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.shop.domain.Address;
+import com.shop.domain.DeliveryStatus;
+import com.shop.domain.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//요청하지 않은 연관관계 필드는 응답에서 제외
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderExpandDto {
+
+    private Long orderId;
+
+    private LocalDateTime orderDate;
+
+    private OrderStatus orderStatus;
+
+    private int totalPrice;
+
+    //expand=member
+    private Long memberId;
+
+    private String name;
+
+    //expand=delivery
+    private Address address;
+
+    private DeliveryStatus deliveryStatus;
+
+    //expand=items
+    private List<OrderItemQueryDto> orderItems;
+
+    public OrderExpandDto(Long orderId, LocalDateTime orderDate, OrderStatus orderStatus, int totalPrice) {
+        this.orderId = orderId;
+        this.orderDate = orderDate;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+    }
+}
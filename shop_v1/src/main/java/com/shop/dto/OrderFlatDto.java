@@ -19,18 +19,21 @@ public class OrderFlatDto {
 
     private OrderStatus orderStatus;
 
+    private Long itemId;
+
     private String itemName;
 
     private int orderPrice;
 
     private int count;
 
-    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, String itemName, int orderPrice, int count) {
+    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, Long itemId, String itemName, int orderPrice, int count) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.itemId = itemId;
         this.itemName = itemName;
         this.orderPrice = orderPrice;
         this.count = count;
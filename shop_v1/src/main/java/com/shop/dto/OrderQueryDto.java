@@ -1,6 +1,8 @@
 package com.shop.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.shop.domain.Address;
+import com.shop.domain.DeliveryStatus;
 import com.shop.domain.OrderStatus;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -22,22 +24,42 @@ public class OrderQueryDto {
 
     private Address address;
 
+    private int totalPrice;
+
     private List<OrderItemQueryDto> orderItems;
 
-    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address) {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long changeVersion;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DeliveryStatus deliveryStatus;
+
+    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
+    }
+
+    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice, Long changeVersion) {
+        this(orderId, name, orderDate, orderStatus, address, totalPrice);
+        this.changeVersion = changeVersion;
+    }
+
+    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice, DeliveryStatus deliveryStatus) {
+        this(orderId, name, orderDate, orderStatus, address, totalPrice);
+        this.deliveryStatus = deliveryStatus;
     }
 
-    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, List<OrderItemQueryDto> orderItems) {
+    public OrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice, List<OrderItemQueryDto> orderItems) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
         this.orderItems = orderItems;
     }
 }
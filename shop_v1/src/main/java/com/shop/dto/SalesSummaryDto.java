@@ -0,0 +1,18 @@
+package com.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SalesSummaryDto {
+
+    private String group;
+
+    private long lineCount;
+
+    private long quantity;
+
+    private long amount;
+
+}
@@ -21,11 +21,14 @@ public class SimpleOrderQueryDto {
 
     private Address address;
 
-    public SimpleOrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address) {
+    private int totalPrice;
+
+    public SimpleOrderQueryDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
     }
 }
@@ -0,0 +1,198 @@
+package com.shop.export;
+
+import com.shop.domain.OrderStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 주문 컬럼형 파일 읽기
+ * - 파일을 메모리 매핑하고 고정 길이 컬럼은 위치 계산으로 바로 읽는다 > 행 객체를 만들지 않는다
+ * - 그룹마다 따로 매핑하므로 2GB 를 넘는 파일도 읽을 수 있다
+ * - 그룹을 열 때는 문자열 사전의 위치만 기록하고, 사전은 해당 컬럼을 처음 읽을 때 한번만 디코딩
+ */
+public class OrderColumnReader implements Closeable {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final FileChannel channel;
+    private final long[] groupOffsets;
+    private final long[] groupLengths;
+    private final long totalRows;
+
+    public OrderColumnReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        int magicLength = OrderColumnWriter.MAGIC.length;
+        long fileSize = channel.size();
+        if (fileSize < magicLength * 2L + 8) {
+            throw new IllegalStateException("주문 컬럼 파일이 아닙니다. path=" + path);
+        }
+
+        MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, fileSize - 8 - magicLength, 8 + magicLength);
+        long footerOffset = tail.getLong();
+        byte[] magic = new byte[magicLength];
+        tail.get(magic);
+        if (!Arrays.equals(magic, OrderColumnWriter.MAGIC)) {
+            throw new IllegalStateException("주문 컬럼 파일이 아닙니다. path=" + path);
+        }
+
+        MappedByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, fileSize - footerOffset);
+        int groupCount = footer.getInt();
+        this.groupOffsets = new long[groupCount];
+        this.groupLengths = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groupOffsets[i] = footer.getLong();
+        }
+        for (int i = 0; i < groupCount; i++) {
+            groupLengths[i] = footer.getLong();
+        }
+        this.totalRows = footer.getLong();
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public int getGroupCount() {
+        return groupOffsets.length;
+    }
+
+    public RowGroup group(int index) throws IOException {
+        return new RowGroup(channel.map(FileChannel.MapMode.READ_ONLY, groupOffsets[index], groupLengths[index]));
+    }
+
+    //금액 합계처럼 숫자 컬럼만 필요한 스캔은 문자열 사전을 디코딩하지 않는다
+    public long sumAmount() throws IOException {
+        long sum = 0;
+        for (int g = 0; g < getGroupCount(); g++) {
+            RowGroup group = group(g);
+            for (int i = 0; i < group.size(); i++) {
+                sum += (long) group.orderPrice(i) * group.count(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    //그룹 하나 - 사전을 지연 디코딩하므로 스레드 간에 공유하지 않는다
+    public static class RowGroup {
+
+        private final MappedByteBuffer buffer;
+        private final int size;
+        private final int orderIdOffset;
+        private final int orderDateOffset;
+        private final int statusOffset;
+        private final int orderPriceOffset;
+        private final int countOffset;
+        private final String[][] dictionaries = new String[OrderColumnWriter.STRING_COLUMNS][];
+        private final int[] dictionaryOffsets = new int[OrderColumnWriter.STRING_COLUMNS];
+        private final int[] codeOffsets = new int[OrderColumnWriter.STRING_COLUMNS];
+
+        RowGroup(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.size = buffer.getInt(0);
+            this.orderIdOffset = 4;
+            this.orderDateOffset = orderIdOffset + size * 8;
+            this.statusOffset = orderDateOffset + size * 8;
+            this.orderPriceOffset = statusOffset + size;
+            this.countOffset = orderPriceOffset + size * 4;
+
+            //사전은 가변 길이이므로 길이만 읽고 건너뛰어 사전과 코드 위치를 구한다
+            int position = countOffset + size * 4;
+            for (int c = 0; c < OrderColumnWriter.STRING_COLUMNS; c++) {
+                dictionaryOffsets[c] = position;
+                int dictionarySize = buffer.getInt(position);
+                position += 4;
+                for (int d = 0; d < dictionarySize; d++) {
+                    int length = buffer.getInt(position);
+                    position += 4 + Math.max(length, 0);
+                }
+                codeOffsets[c] = position;
+                position += size * 4;
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long orderId(int row) {
+            return buffer.getLong(orderIdOffset + row * 8);
+        }
+
+        public LocalDateTime orderDate(int row) {
+            return LocalDateTime.ofEpochSecond(buffer.getLong(orderDateOffset + row * 8), 0, ZoneOffset.UTC);
+        }
+
+        public OrderStatus status(int row) {
+            return STATUSES[buffer.get(statusOffset + row)];
+        }
+
+        public int orderPrice(int row) {
+            return buffer.getInt(orderPriceOffset + row * 4);
+        }
+
+        public int count(int row) {
+            return buffer.getInt(countOffset + row * 4);
+        }
+
+        public String memberName(int row) {
+            return string(0, row);
+        }
+
+        public String itemName(int row) {
+            return string(1, row);
+        }
+
+        public String city(int row) {
+            return string(2, row);
+        }
+
+        public String street(int row) {
+            return string(3, row);
+        }
+
+        public String zipcode(int row) {
+            return string(4, row);
+        }
+
+        private String string(int column, int row) {
+            return dictionary(column)[buffer.getInt(codeOffsets[column] + row * 4)];
+        }
+
+        //처음 접근할 때 디코딩 - 길이 -1 은 null
+        private String[] dictionary(int column) {
+            String[] dictionary = dictionaries[column];
+            if (dictionary == null) {
+                int position = dictionaryOffsets[column];
+                dictionary = new String[buffer.getInt(position)];
+                position += 4;
+                for (int d = 0; d < dictionary.length; d++) {
+                    int length = buffer.getInt(position);
+                    position += 4;
+                    if (length >= 0) {
+                        byte[] encoded = new byte[length];
+                        buffer.get(position, encoded);
+                        dictionary[d] = new String(encoded, StandardCharsets.UTF_8);
+                        position += length;
+                    }
+                }
+                dictionaries[column] = dictionary;
+            }
+            return dictionary;
+        }
+    }
+
+}
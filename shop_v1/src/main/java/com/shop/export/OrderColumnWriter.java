@@ -0,0 +1,181 @@
+package com.shop.export;
+
+import com.shop.domain.Address;
+import com.shop.dto.OrderFlatDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 컬럼형 파일 쓰기
+ * - 주문상품 한 건이 한 행, 행을 ROW_GROUP_SIZE 단위 그룹으로 모아 그룹 안에서 컬럼별로 기록한다
+ * - 힙에는 현재 그룹만 유지하므로 전체 건수와 관계없이 메모리 사용량이 일정하다
+ * - 문자열 컬럼은 그룹 단위 사전 인코딩(사전 + int 코드)
+ *
+ * 파일 구조(빅 엔디안)
+ * - 헤더: MAGIC(8)
+ * - 그룹: rowCount(int), orderId(long[]), orderDate(long[] epoch second), status(byte[]),
+ *         orderPrice(int[]), count(int[]), 문자열 컬럼 x 5 [사전 크기(int), (길이(int) + UTF-8)..., 코드(int[])]
+ * - 푸터: groupCount(int), 그룹 시작 위치(long[]), 그룹 길이(long[]), 전체 행 수(long)
+ * - 꼬리: 푸터 시작 위치(long), MAGIC(8)
+ */
+public class OrderColumnWriter implements Closeable {
+
+    static final byte[] MAGIC = "SHOPCOL1".getBytes(StandardCharsets.US_ASCII);
+    static final int STRING_COLUMNS = 5;
+
+    private static final int ROW_GROUP_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final List<Long> groupOffsets = new ArrayList<>();
+    private final List<Long> groupLengths = new ArrayList<>();
+    private long totalRows;
+
+    private int size;
+    private final long[] orderIds = new long[ROW_GROUP_SIZE];
+    private final long[] orderDates = new long[ROW_GROUP_SIZE];
+    private final byte[] statuses = new byte[ROW_GROUP_SIZE];
+    private final int[] orderPrices = new int[ROW_GROUP_SIZE];
+    private final int[] counts = new int[ROW_GROUP_SIZE];
+    private final StringColumn[] strings = new StringColumn[STRING_COLUMNS];
+
+    public OrderColumnWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        for (int i = 0; i < STRING_COLUMNS; i++) {
+            strings[i] = new StringColumn();
+        }
+        write(ByteBuffer.wrap(MAGIC));
+    }
+
+    public void write(OrderFlatDto row) throws IOException {
+        Address address = row.getAddress();
+        orderIds[size] = row.getOrderId();
+        orderDates[size] = row.getOrderDate().toEpochSecond(ZoneOffset.UTC);
+        statuses[size] = (byte) row.getOrderStatus().ordinal();
+        orderPrices[size] = row.getOrderPrice();
+        counts[size] = row.getCount();
+        strings[0].add(size, row.getName());
+        strings[1].add(size, row.getItemName());
+        strings[2].add(size, address == null ? null : address.getCity());
+        strings[3].add(size, address == null ? null : address.getStreet());
+        strings[4].add(size, address == null ? null : address.getZipcode());
+        size++;
+        if (size == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (size > 0) {
+                flushGroup();
+            }
+            long footerOffset = channel.position();
+            ByteBuffer footer = ByteBuffer.allocate(4 + groupOffsets.size() * 16 + 8 + 8 + MAGIC.length);
+            footer.putInt(groupOffsets.size());
+            groupOffsets.forEach(footer::putLong);
+            groupLengths.forEach(footer::putLong);
+            footer.putLong(totalRows);
+            footer.putLong(footerOffset);
+            footer.put(MAGIC);
+            footer.flip();
+            write(footer);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(orderIds[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(orderDates[i]);
+        }
+        out.write(statuses, 0, size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(orderPrices[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(counts[i]);
+        }
+        for (StringColumn column : strings) {
+            column.writeTo(out, size);
+            column.clear();
+        }
+        out.flush();
+
+        groupOffsets.add(channel.position());
+        groupLengths.add((long) bytes.size());
+        write(ByteBuffer.wrap(bytes.toByteArray()));
+        totalRows += size;
+        size = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    //그룹 단위 사전 인코딩 - null 은 길이 -1
+    private static class StringColumn {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final int[] codes = new int[ROW_GROUP_SIZE];
+
+        void add(int row, String value) {
+            codes[row] = dictionary.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        void writeTo(DataOutputStream out, int size) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                if (value == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(encoded.length);
+                    out.write(encoded);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                out.writeInt(codes[i]);
+            }
+        }
+
+        void clear() {
+            dictionary.clear();
+            values.clear();
+            Arrays.fill(codes, 0);
+        }
+    }
+
+}
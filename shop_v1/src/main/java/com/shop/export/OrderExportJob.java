@@ -0,0 +1,74 @@
+package com.shop.export;
+
+import com.shop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+/**
+ * 주문 전체 추출 배치
+ * - StatelessSession 스크롤로 DB 에서 한 row 씩 읽어 컬럼형 파일로 기록 > 힙 사용량 일정
+ * - 임시 파일에 모두 쓴 뒤 이름을 변경하므로 읽는 쪽은 완성된 파일만 보게 된다
+ * - 다시 읽을 때는 OrderColumnReader 로 파일만 읽는다(DB 조회 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderExportJob {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+
+    @Value("${shop.export.dir:export}")
+    private String exportDir;
+
+    @Scheduled(cron = "${shop.export.cron:0 0 2 * * *}")
+    public void exportNightly() {
+        export(LocalDate.now());
+    }
+
+    public Path export(LocalDate date) {
+        Path dir = Paths.get(exportDir);
+        Path target = dir.resolve("orders-" + date + ".col");
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "orders-", ".tmp");
+            OrderColumnWriter writer = new OrderColumnWriter(temp);
+            try (writer) {
+                orderRepository.scrollOrdersAndItemsToDtoV3(FETCH_SIZE, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("order export finished: path={}, rows={}, {}ms",
+                    target, writer.getTotalRows(), System.currentTimeMillis() - start);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public OrderColumnReader open(LocalDate date) throws IOException {
+        return new OrderColumnReader(Paths.get(exportDir).resolve("orders-" + date + ".col"));
+    }
+
+}
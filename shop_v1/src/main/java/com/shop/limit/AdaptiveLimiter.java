@@ -0,0 +1,108 @@
+package com.shop.limit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 적응형 동시 실행 제한(AIMD)
+ * - 제한 이하로만 동시에 실행하고 초과 요청은 최대 대기 시간 동안 대기열에서 기다린다
+ * - 대기열이 가득 찼거나 대기 시간을 넘기면 바로 거절 > 호출한 쪽에서 503 응답
+ * - 응답 시간이 기준을 넘거나 실패하면 제한을 곱으로 줄이고(x backoff)
+ *   제한까지 꽉 찬 상태에서 정상 응답이 오면 조금씩 늘린다(제한 한 바퀴마다 +1)
+ * - minLimit == maxLimit 이면 고정 크기 벌크헤드로 동작
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long rejected;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                           long latencyThresholdNanos, long maxWaitNanos, int maxQueue) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.maxQueue = maxQueue;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public static AdaptiveLimiter fixed(String name, int limit, long maxWaitNanos, int maxQueue) {
+        return new AdaptiveLimiter(name, limit, limit, limit, Long.MAX_VALUE, maxWaitNanos, maxQueue);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= maxQueue) {
+                rejected++;
+                return false;
+            }
+
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejected++;
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(name, (int) limit, inFlight, waiting, rejected);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record Stats(String name, int limit, int inFlight, int waiting, long rejected) {
+    }
+
+}
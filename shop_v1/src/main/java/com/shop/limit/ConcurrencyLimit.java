@@ -0,0 +1,15 @@
+package com.shop.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 무거운 조회 표시(API, 화면)
+ * - 붙은 핸들러마다 별도의 적응형 동시 실행 제한을 둔다
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+}
@@ -0,0 +1,58 @@
+package com.shop.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 요청 동시 실행 제한 설정
+ * - 조회 + 변경 벌크헤드 + 내보내기 실행기 + 스케줄러 크기의 합은 커넥션 풀 크기 이하로(application.yml)
+ *   > 조회가 커넥션을 모두 차지하지 못한다
+ * - API 뿐 아니라 화면 컨트롤러(주문, 주문 취소, 목록)도 같은 벌크헤드를 사용 > 전체 경로에 등록하고 정적 리소스만 제외
+ * - shop.limit.enabled=false 로 끌 수 있다
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shop.limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Value("${shop.limit.read-concurrency:7}")
+    private int readConcurrency;
+
+    @Value("${shop.limit.write-concurrency:3}")
+    private int writeConcurrency;
+
+    @Value("${shop.limit.endpoint.initial-limit:2}")
+    private int endpointInitialLimit;
+
+    @Value("${shop.limit.endpoint.max-limit:5}")
+    private int endpointMaxLimit;
+
+    @Value("${shop.limit.endpoint.latency-threshold:PT1S}")
+    private Duration latencyThreshold;
+
+    @Value("${shop.limit.max-wait:PT0.2S}")
+    private Duration maxWait;
+
+    @Value("${shop.limit.max-queue:50}")
+    private int maxQueue;
+
+    @Bean
+    ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        return new ConcurrencyLimitInterceptor(readConcurrency, writeConcurrency,
+                endpointInitialLimit, endpointMaxLimit, latencyThreshold, maxWait, maxQueue);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor())
+                .addPathPatterns("/**")
+                .excludePathPatterns("/css/**", "/js/**", "/images/**", "/*.html", "/favicon.ico", "/error",
+                        "/api/limits", "/api/reactive/**", "/api/v6/orders/stream");
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.shop.limit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청 동시 실행 제한(API + 화면)
+ * - 조회(GET, HEAD)와 변경 요청은 서로 다른 벌크헤드를 사용 > 조회가 몰려도 주문 같은 변경 요청의 자리는 남는다
+ * - @ConcurrencyLimit 이 붙은 무거운 조회는 API 별 적응형 제한을 추가로 거친다
+ * - 자리를 얻지 못하면 컨트롤러를 실행하지 않고 바로 503 + Retry-After 응답
+ * - 비동기 요청은 처음 요청에서 얻은 자리를 응답이 끝날 때까지 유지한다
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".ACQUIRED";
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".STARTED";
+
+    private final AdaptiveLimiter readBulkhead;
+    private final AdaptiveLimiter writeBulkhead;
+    private final Map<Method, AdaptiveLimiter> endpointLimiters = new ConcurrentHashMap<>();
+
+    private final int endpointInitialLimit;
+    private final int endpointMaxLimit;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+
+    public ConcurrencyLimitInterceptor(int readConcurrency, int writeConcurrency,
+                                       int endpointInitialLimit, int endpointMaxLimit,
+                                       Duration latencyThreshold, Duration maxWait, int maxQueue) {
+        this.readBulkhead = AdaptiveLimiter.fixed("read", readConcurrency, maxWait.toNanos(), maxQueue);
+        this.writeBulkhead = AdaptiveLimiter.fixed("write", writeConcurrency, maxWait.toNanos(), maxQueue);
+        this.endpointInitialLimit = endpointInitialLimit;
+        this.endpointMaxLimit = endpointMaxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        //비동기 재전달은 처음 요청에서 이미 자리를 얻었다
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        List<AdaptiveLimiter> limiters = new ArrayList<>(2);
+        if (handlerMethod.hasMethodAnnotation(ConcurrencyLimit.class)) {
+            limiters.add(endpointLimiters.computeIfAbsent(handlerMethod.getMethod(), this::createEndpointLimiter));
+        }
+        limiters.add(isRead(request) ? readBulkhead : writeBulkhead);
+
+        List<AdaptiveLimiter> acquired = new ArrayList<>(limiters.size());
+        for (AdaptiveLimiter limiter : limiters) {
+            if (!limiter.tryAcquire()) {
+                //거절은 지연으로 보지 않는다 - 얻은 자리만 반납
+                acquired.forEach(l -> l.release(0, false));
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader("Retry-After", "1");
+                return false;
+            }
+            acquired.add(limiter);
+        }
+        request.setAttribute(ACQUIRED, acquired);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        List<AdaptiveLimiter> acquired = (List<AdaptiveLimiter>) request.getAttribute(ACQUIRED);
+        if (acquired == null) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED);
+        long latency = System.nanoTime() - (Long) request.getAttribute(STARTED);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        acquired.forEach(limiter -> limiter.release(latency, failed));
+    }
+
+    public List<AdaptiveLimiter.Stats> stats() {
+        List<AdaptiveLimiter.Stats> stats = new ArrayList<>();
+        stats.add(readBulkhead.stats());
+        stats.add(writeBulkhead.stats());
+        endpointLimiters.values().forEach(limiter -> stats.add(limiter.stats()));
+        return stats;
+    }
+
+    private AdaptiveLimiter createEndpointLimiter(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new AdaptiveLimiter(name, endpointInitialLimit, 1, endpointMaxLimit,
+                latencyThresholdNanos, maxWaitNanos, maxQueue);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.shop.repository;
+
+import com.shop.domain.Category;
+import com.shop.dto.CategoryQueryDto;
+import com.shop.dto.ItemQueryDto;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long categoryId) {
+        return em.find(Category.class, categoryId);
+    }
+
+    //트리 구성을 위해 전체 카테고리를 한번에 조회 - 부모를 따라 지연 로딩하지 않는다
+    public List<CategoryQueryDto> findAllToDto() {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.CategoryQueryDto(" +
+                            "c.id, " +
+                            "c.name, " +
+                            "c.parent.id, " +
+                            "c.path, " +
+                            "c.depth" +
+                        ") " +
+                        "from " +
+                            "Category c " +
+                        "order by " +
+                            "c.path", CategoryQueryDto.class)
+                .getResultList();
+    }
+
+    //하위 트리의 모든 상품을 쿼리 한번으로 조회
+    //경로 접두사(like '/1/3/%')는 path 인덱스의 범위 스캔으로 처리된다
+    //한 상품이 하위 트리의 여러 카테고리에 속할 수 있으므로 distinct
+    public List<ItemQueryDto> findItemsInSubtree(String path, int offset, int limit) {
+        return em.createQuery(
+                "select " +
+                            "distinct new com.shop.dto.ItemQueryDto(" +
+                            "i.id, " +
+                            "i.name, " +
+                            "i.price" +
+                        ") " +
+                        "from " +
+                            "CategoryItem ci " +
+                        "join " +
+                            "ci.category c " +
+                        "join " +
+                            "ci.item i " +
+                        "where " +
+                            "c.path like :path " +
+                        "order by " +
+                            "i.id", ItemQueryDto.class)
+                .setParameter("path", path + "%")
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.shop.repository;
+
+import com.shop.dto.DailySalesQueryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class DailySalesRepository {
+
+    //일자 x 상품 행이 있으면 증가, 없으면 생성 - 주문 트랜잭션과 같은 커넥션에서 한 문장으로 처리
+    private static final String UPSERT_SQL =
+            "merge into daily_sales s " +
+            "using (select cast(? as date) sales_date, cast(? as bigint) item_id) v " +
+            "on s.sales_date = v.sales_date and s.item_id = v.item_id " +
+            "when matched then update set " +
+                "order_count = s.order_count + ?, " +
+                "quantity = s.quantity + ?, " +
+                "amount = s.amount + ? " +
+            "when not matched then insert (sales_date, item_id, order_count, quantity, amount) " +
+                "values (v.sales_date, v.item_id, ?, ?, ?)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailySalesRepository(EntityManager em, DataSource dataSource) {
+        this.em = em;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    //읽고 더해서 쓰지 않고 MERGE 한번으로 증가 - 동시 주문에도 갱신이 유실되지 않는다
+    //같은 행을 동시에 처음 만들면 한쪽은 uk_daily_sales 위반(DuplicateKeyException) > 호출한 쪽에서 다시 시도
+    public void increase(LocalDate salesDate, Long itemId, long orderCount, long quantity, long amount) {
+        jdbcTemplate.update(UPSERT_SQL, salesDate, itemId,
+                orderCount, quantity, amount,
+                orderCount, quantity, amount);
+    }
+
+    public List<DailySalesQueryDto> findDailyTotals(LocalDate from, LocalDate to) {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.DailySalesQueryDto(" +
+                            "s.salesDate, " +
+                            "sum(s.orderCount), " +
+                            "sum(s.quantity), " +
+                            "sum(s.amount)" +
+                        ") " +
+                        "from " +
+                            "DailySales s " +
+                        "where " +
+                            "s.salesDate between :from and :to " +
+                        "group by " +
+                            "s.salesDate " +
+                        "order by " +
+                            "s.salesDate", DailySalesQueryDto.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    public List<DailySalesQueryDto> findItemSales(LocalDate from, LocalDate to, Long itemId) {
+        String jpql = "select " +
+                            "new com.shop.dto.DailySalesQueryDto(" +
+                            "s.salesDate, " +
+                            "s.itemId, " +
+                            "s.orderCount, " +
+                            "s.quantity, " +
+                            "s.amount" +
+                        ") " +
+                        "from " +
+                            "DailySales s " +
+                        "where " +
+                            "s.salesDate between :from and :to ";
+        if (itemId != null) {
+            jpql += "and s.itemId = :itemId ";
+        }
+        jpql += "order by s.salesDate, s.itemId";
+
+        TypedQuery<DailySalesQueryDto> query = em.createQuery(jpql, DailySalesQueryDto.class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (itemId != null) {
+            query.setParameter("itemId", itemId);
+        }
+        return query.getResultList();
+    }
+
+}
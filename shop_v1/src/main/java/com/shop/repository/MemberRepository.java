@@ -1,12 +1,14 @@
 package com.shop.repository;
 
 import com.shop.domain.Member;
+import com.shop.dto.MemberQueryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -34,5 +36,51 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    //필요한 컬럼만 DTO 로 조회 - Address 등 사용하지 않는 컬럼은 SELECT 절에서 제외
+    //count 쿼리 없이 limit + 1 건을 조회해서 다음 페이지 존재 여부를 판단한다(Slice)
+    public List<MemberQueryDto> findMembersSlice(int offset, int limit) {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.MemberQueryDto(m.id, m.name) " +
+                        "from " +
+                            "Member m " +
+                        "order by " +
+                            "m.id", MemberQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit + 1)
+                .getResultList();
+    }
+
+    //키셋(커서) 페이징 - offset 은 앞의 row 를 모두 읽고 버리지만
+    //마지막으로 조회한 식별자 이후부터 PK 인덱스를 타기 때문에 페이지 위치와 관계없이 O(page)
+    public List<MemberQueryDto> findMembersSliceAfter(Long lastMemberId, int limit) {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.MemberQueryDto(m.id, m.name) " +
+                        "from " +
+                            "Member m " +
+                        "where " +
+                            "m.id > :lastMemberId " +
+                        "order by " +
+                            "m.id", MemberQueryDto.class)
+                .setParameter("lastMemberId", lastMemberId)
+                .setMaxResults(limit + 1)
+                .getResultList();
+    }
+
+    //존재 여부만 필요하다면 엔티티를 리스트로 모두 조회하지 말고 식별자 한 건만 조회하자
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    //이름 컬럼만 스트림으로 조회 - 엔티티를 영속성 컨텍스트에 올리지 않는다
+    public Stream<String> streamNames() {
+        return em.createQuery("select m.name from Member m where m.name is not null", String.class)
+                .getResultStream();
+    }
 
 }
@@ -0,0 +1,86 @@
+package com.shop.repository;
+
+import com.shop.domain.DeliveryStatus;
+import com.shop.domain.OrderStatus;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private final EntityManager em;
+
+    //보관 대상 - 기준일 이전이면서 취소되었거나 배송이 완료된 주문
+    public List<Object[]> findArchiveTargets(LocalDateTime orderedBefore, int limit) {
+        return em.createQuery(
+                "select " +
+                            "o.id, " +
+                            "d.id " +
+                        "from " +
+                            "Order o " +
+                        "join " +
+                            "o.delivery d " +
+                        "where " +
+                            "o.orderDate < :orderedBefore " +
+                        "and " +
+                            "(o.status = :cancel or d.status = :comp) " +
+                        "order by " +
+                            "o.id", Object[].class)
+                .setParameter("orderedBefore", orderedBefore)
+                .setParameter("cancel", OrderStatus.CANCEL)
+                .setParameter("comp", DeliveryStatus.COMP)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //INSERT ... SELECT 로 DB 안에서 복사 - 애플리케이션으로 row 를 가져오지 않는다
+    //컬럼 구성이 같은 테이블 간 복사라 네이티브 쿼리를 사용
+    public void copyToArchive(List<Long> orderIds, List<Long> deliveryIds) {
+        em.createNativeQuery(
+                "insert into orders_archive " +
+                            "(order_id, member_id, delivery_id, order_date, status, total_price, line_count, change_version, changed_at) " +
+                        "select " +
+                            "order_id, member_id, delivery_id, order_date, status, total_price, line_count, change_version, changed_at " +
+                        "from orders " +
+                        "where order_id in (:orderIds)")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        em.createNativeQuery(
+                "insert into order_item_archive " +
+                            "(order_item_id, item_id, order_id, order_price, count) " +
+                        "select " +
+                            "order_item_id, item_id, order_id, order_price, count " +
+                        "from order_item " +
+                        "where order_id in (:orderIds)")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        em.createNativeQuery(
+                "insert into delivery_archive " +
+                            "(delivery_id, city, street, zipcode, status) " +
+                        "select " +
+                            "delivery_id, city, street, zipcode, status " +
+                        "from delivery " +
+                        "where delivery_id in (:deliveryIds)")
+                .setParameter("deliveryIds", deliveryIds)
+                .executeUpdate();
+    }
+
+    //외래 키 순서대로 삭제 - 주문상품 > 주문 > 배송
+    public void deleteFromHot(List<Long> orderIds, List<Long> deliveryIds) {
+        em.createQuery("delete from OrderItem oi where oi.order.id in :orderIds")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        em.createQuery("delete from Order o where o.id in :orderIds")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+        em.createQuery("delete from Delivery d where d.id in :deliveryIds")
+                .setParameter("deliveryIds", deliveryIds)
+                .executeUpdate();
+    }
+
+}
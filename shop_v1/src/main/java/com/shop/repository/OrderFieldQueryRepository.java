@@ -0,0 +1,196 @@
+package com.shop.repository;
+
+import com.shop.dto.OrderItemQueryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 필드 선택 조회(sparse fieldset)
+ * - 요청한 필드만 select 절에 넣어서 조회 > 필요 없는 컬럼과 조인을 읽지 않는다
+ * - 회원, 배송 필드를 요청하지 않으면 해당 테이블은 조인하지 않는다
+ * - 같은 필드 조합의 JPQL 은 한번만 만들고 재사용(필드 조합 수가 유한하므로 캐시 크기 제한 없음)
+ * - 결과는 요청한 필드만 가진 Map(필드 순서는 정의 순서)
+ * - 주문 조회(OrderQueryDto) 형태는 orderItems 필드를 추가로 지원 - 요청했을 때만 주문상품을 in 절로 한번 더 조회
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderFieldQueryRepository {
+
+    private enum Join {
+        NONE, MEMBER, DELIVERY
+    }
+
+    //응답 필드 > select 식, 필요한 조인
+    private enum Field {
+
+        ORDER_ID("orderId", "o.id", Join.NONE),
+        NAME("name", "m.name", Join.MEMBER),
+        ORDER_DATE("orderDate", "o.orderDate", Join.NONE),
+        ORDER_STATUS("orderStatus", "o.status", Join.NONE),
+        ADDRESS("address", "d.address", Join.DELIVERY),
+        DELIVERY_STATUS("deliveryStatus", "d.status", Join.DELIVERY),
+        TOTAL_PRICE("totalPrice", "o.totalPrice", Join.NONE);
+
+        private final String fieldName;
+        private final String expression;
+        private final Join join;
+
+        Field(String fieldName, String expression, Join join) {
+            this.fieldName = fieldName;
+            this.expression = expression;
+            this.join = join;
+        }
+    }
+
+    private static final String ORDER_ITEMS = "orderItems";
+
+    private static final List<String> FIELD_NAMES = Arrays.stream(Field.values())
+            .map(field -> field.fieldName)
+            .toList();
+
+    private static final List<String> ORDER_FIELD_NAMES = Stream.concat(FIELD_NAMES.stream(), Stream.of(ORDER_ITEMS))
+            .toList();
+
+    private final EntityManager em;
+
+    private final Map<String, CompiledQuery> compiledQueries = new ConcurrentHashMap<>();
+
+    //주문 목록(SimpleOrderQueryDto) 형태
+    public List<Map<String, Object>> findOrders(Collection<String> fields, int offset, int limit) {
+        validate(fields, FIELD_NAMES);
+        return query(compile(select(fields)), offset, limit);
+    }
+
+    //주문 + 주문상품(OrderQueryDto) 형태
+    //주문상품을 붙이려면 주문 식별자가 필요하므로 요청하지 않았어도 조회하고 응답에서는 뺀다
+    public List<Map<String, Object>> findOrdersWithItems(Collection<String> fields, int offset, int limit) {
+        validate(fields, ORDER_FIELD_NAMES);
+        boolean withItems = fields.isEmpty() || fields.contains(ORDER_ITEMS);
+        List<Field> selected = select(fields);
+        boolean hiddenOrderId = withItems && !selected.contains(Field.ORDER_ID);
+        if (hiddenOrderId) {
+            selected.add(0, Field.ORDER_ID);
+        }
+
+        List<Map<String, Object>> rows = query(compile(selected), offset, limit);
+        if (!withItems || rows.isEmpty()) {
+            return rows;
+        }
+
+        List<Long> orderIds = rows.stream()
+                .map(row -> (Long) row.get(Field.ORDER_ID.fieldName))
+                .toList();
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItems(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+        for (Map<String, Object> row : rows) {
+            Long orderId = (Long) (hiddenOrderId ? row.remove(Field.ORDER_ID.fieldName) : row.get(Field.ORDER_ID.fieldName));
+            row.put(ORDER_ITEMS, orderItemMap.getOrDefault(orderId, List.of()));
+        }
+        return rows;
+    }
+
+    //요청한 필드로 만든 JPQL - 조인 여부 확인용
+    String jpql(Collection<String> fields) {
+        validate(fields, FIELD_NAMES);
+        return compile(select(fields)).jpql();
+    }
+
+    private List<Map<String, Object>> query(CompiledQuery compiled, int offset, int limit) {
+        List<Tuple> tuples = em.createQuery(compiled.jpql(), Tuple.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Map<String, Object>> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < compiled.fields().size(); i++) {
+                row.put(compiled.fields().get(i), tuple.get(i));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    private static void validate(Collection<String> fields, List<String> supported) {
+        for (String name : fields) {
+            if (!supported.contains(name)) {
+                throw new IllegalArgumentException("지원하지 않는 필드입니다. field=" + name + ", 가능한 필드=" + supported);
+            }
+        }
+    }
+
+    //필드를 정의 순서로 정규화 - 순서나 중복이 달라도 같은 쿼리, 필드를 지정하지 않으면 전체 필드
+    private static List<Field> select(Collection<String> fields) {
+        List<Field> selected = new ArrayList<>();
+        for (Field field : Field.values()) {
+            if (fields.isEmpty() || fields.contains(field.fieldName)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+
+    //같은 필드 조합은 한번만 만든다
+    private CompiledQuery compile(List<Field> selected) {
+        return compiledQueries.computeIfAbsent(selected.toString(), key -> build(selected));
+    }
+
+    private List<OrderItemQueryDto> findOrderItems(List<Long> orderIds) {
+        return em.createQuery(
+                        "select " +
+                                    "new com.shop.dto.OrderItemQueryDto( " +
+                                    "oi.order.id, " +
+                                    "i.name, " +
+                                    "oi.orderPrice, " +
+                                    "oi.count " +
+                                ") " +
+                                "from " +
+                                    "OrderItem oi " +
+                                "join " +
+                                    "oi.item i " +
+                                "where " +
+                                    "oi.order.id in :orderIds", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    private static CompiledQuery build(List<Field> selected) {
+        List<String> names = new ArrayList<>();
+        StringBuilder select = new StringBuilder();
+        boolean joinMember = false;
+        boolean joinDelivery = false;
+        for (Field field : selected) {
+            if (!names.isEmpty()) {
+                select.append(", ");
+            }
+            select.append(field.expression).append(" as ").append(field.fieldName);
+            names.add(field.fieldName);
+            joinMember |= field.join == Join.MEMBER;
+            joinDelivery |= field.join == Join.DELIVERY;
+        }
+
+        String jpql = "select " + select +
+                " from Order o" +
+                (joinMember ? " join o.member m" : "") +
+                (joinDelivery ? " join o.delivery d" : "") +
+                " order by o.id";
+        return new CompiledQuery(jpql, List.copyOf(names));
+    }
+
+    private record CompiledQuery(String jpql, List<String> fields) {
+    }
+
+}
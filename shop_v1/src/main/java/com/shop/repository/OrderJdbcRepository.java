@@ -0,0 +1,134 @@
+package com.shop.repository;
+
+import com.shop.domain.Address;
+import com.shop.domain.OrderStatus;
+import com.shop.dto.OrderFlatDto;
+import com.shop.dto.OrderItemQueryDto;
+import com.shop.dto.OrderQueryDto;
+import com.shop.dto.SimpleOrderQueryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JdbcTemplate 조회
+ * - 권장 순서의 마지막 단계(Native Query or JdbcTemplate)
+ * - JPQL 변환, 엔티티/DTO 생성자 리플렉션, 영속성 컨텍스트를 모두 거치지 않고 row 를 바로 DTO 로 매핑
+ * - select 절 순서가 고정이므로 컬럼 위치를 상수로 두고 인덱스로 읽는다(이름 조회 없음)
+ * - fetch size 만큼씩 읽으면서 처리하므로 드라이버가 결과 전체를 한번에 가져오지 않는다
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String ORDER_COLUMNS =
+            "o.order_id, m.name, o.order_date, o.status, d.city, d.street, d.zipcode, o.total_price ";
+
+    private static final String ORDER_JOINS =
+            "from orders o " +
+            "join member m on m.member_id = o.member_id " +
+            "join delivery d on d.delivery_id = o.delivery_id ";
+
+    private static final String SIMPLE_ORDER_SQL = "select " + ORDER_COLUMNS + ORDER_JOINS;
+
+    //주문 순으로 정렬해서 같은 주문의 주문상품이 연속되도록
+    private static final String ORDER_ITEM_SQL =
+            "select " + ORDER_COLUMNS + ", i.item_id, i.name, oi.order_price, oi.count " +
+            ORDER_JOINS +
+            "join order_item oi on oi.order_id = o.order_id " +
+            "join item i on i.item_id = oi.item_id " +
+            "order by o.order_id";
+
+    //select 절 컬럼 위치
+    private static final int ORDER_ID = 1;
+    private static final int MEMBER_NAME = 2;
+    private static final int ORDER_DATE = 3;
+    private static final int STATUS = 4;
+    private static final int CITY = 5;
+    private static final int STREET = 6;
+    private static final int ZIPCODE = 7;
+    private static final int TOTAL_PRICE = 8;
+    private static final int ITEM_ID = 9;
+    private static final int ITEM_NAME = 10;
+    private static final int ORDER_PRICE = 11;
+    private static final int COUNT = 12;
+
+    private static final RowMapper<SimpleOrderQueryDto> SIMPLE_ORDER_MAPPER = (rs, rowNum) -> new SimpleOrderQueryDto(
+            rs.getLong(ORDER_ID),
+            rs.getString(MEMBER_NAME),
+            rs.getObject(ORDER_DATE, LocalDateTime.class),
+            OrderStatus.valueOf(rs.getString(STATUS)),
+            address(rs),
+            rs.getInt(TOTAL_PRICE));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderJdbcRepository(DataSource dataSource, @Value("${shop.jdbc.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public List<SimpleOrderQueryDto> findOrdersToDto() {
+        return jdbcTemplate.query(SIMPLE_ORDER_SQL, SIMPLE_ORDER_MAPPER);
+    }
+
+    //한방 쿼리 row 를 주문이 바뀔 때마다 묶어서 OrderQueryDto 로 변환 > 쿼리 1번
+    //주문상품이 없는 주문은 제외된다(V6 한방 쿼리와 동일)
+    public List<OrderQueryDto> findOrdersAndItemsToDto() {
+        List<OrderQueryDto> orders = new ArrayList<>();
+        jdbcTemplate.query(ORDER_ITEM_SQL, (RowCallbackHandler) rs -> {
+            long orderId = rs.getLong(ORDER_ID);
+            OrderQueryDto current = orders.isEmpty() ? null : orders.get(orders.size() - 1);
+            if (current == null || current.getOrderId() != orderId) {
+                current = new OrderQueryDto(
+                        orderId,
+                        rs.getString(MEMBER_NAME),
+                        rs.getObject(ORDER_DATE, LocalDateTime.class),
+                        OrderStatus.valueOf(rs.getString(STATUS)),
+                        address(rs),
+                        rs.getInt(TOTAL_PRICE));
+                current.setOrderItems(new ArrayList<>());
+                orders.add(current);
+            }
+            current.getOrderItems().add(new OrderItemQueryDto(
+                    orderId, rs.getString(ITEM_NAME), rs.getInt(ORDER_PRICE), rs.getInt(COUNT)));
+        });
+        return orders;
+    }
+
+    //V6 한방 쿼리를 한 row 씩 전달 - 결과를 리스트로 모으지 않는다
+    public void streamOrdersAndItemsToDtoV3(Consumer<OrderFlatDto> consumer) {
+        jdbcTemplate.query(ORDER_ITEM_SQL, (RowCallbackHandler) rs -> {
+            consumer.accept(new OrderFlatDto(
+                    rs.getLong(ORDER_ID),
+                    rs.getString(MEMBER_NAME),
+                    rs.getObject(ORDER_DATE, LocalDateTime.class),
+                    OrderStatus.valueOf(rs.getString(STATUS)),
+                    address(rs),
+                    rs.getLong(ITEM_ID),
+                    rs.getString(ITEM_NAME),
+                    rs.getInt(ORDER_PRICE),
+                    rs.getInt(COUNT)));
+        });
+    }
+
+    public List<OrderFlatDto> findOrdersAndItemsToDtoV3() {
+        List<OrderFlatDto> rows = new ArrayList<>();
+        streamOrdersAndItemsToDtoV3(rows::add);
+        return rows;
+    }
+
+    private static Address address(ResultSet rs) throws SQLException {
+        return new Address(rs.getString(CITY), rs.getString(STREET), rs.getString(ZIPCODE));
+    }
+
+}
@@ -9,12 +9,19 @@ import com.shop.dto.SimpleOrderQueryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -59,6 +66,17 @@ public class OrderRepository {
             jpql += " m.name like :name";
         }
 
+        //주문 금액 검색 - 반정규화된 합계 컬럼을 사용하므로 주문상품을 조인하지 않는다
+        if (orderSearch.getMinTotalPrice() != null) {
+            if (isFirstCondition) {
+                jpql += " where";
+                isFirstCondition = false;
+            } else {
+                jpql += " and";
+            }
+            jpql += " o.totalPrice >= :minTotalPrice";
+        }
+
         TypedQuery<Order> query = em.createQuery(jpql, Order.class)
                 .setMaxResults(1000); //최대 1000건
         if (orderSearch.getOrderStatus() != null) {
@@ -67,10 +85,58 @@ public class OrderRepository {
         if (StringUtils.hasText(orderSearch.getMemberName())) {
             query = query.setParameter("name", orderSearch.getMemberName());
         }
+        if (orderSearch.getMinTotalPrice() != null) {
+            query = query.setParameter("minTotalPrice", orderSearch.getMinTotalPrice());
+        }
 
         return query.getResultList();
     }
 
+    //매출 순 정렬 - 합계 컬럼 인덱스 사용
+    public List<SimpleOrderQueryDto> findOrdersByTotalPrice(int offset, int limit) {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.SimpleOrderQueryDto(" +
+                                    "o.id, " +
+                                    "m.name, " +
+                                    "o.orderDate, " +
+                                    "o.status, " +
+                                    "d.address, " +
+                                    "o.totalPrice" +
+                            ") " +
+                        "from " +
+                            "Order o " +
+                        "join " +
+                            "o.member m " +
+                        "join " +
+                            "o.delivery d " +
+                        "order by " +
+                            "o.totalPrice desc", SimpleOrderQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //반정규화된 합계, 주문상품 수가 실제 주문상품과 다른 주문 식별자 조회
+    public List<Long> findOrderIdsWithInvalidTotal(Long afterOrderId, int limit) {
+        return em.createQuery(
+                "select " +
+                            "o.id " +
+                        "from " +
+                            "Order o " +
+                        "where " +
+                            "o.id > :afterOrderId " +
+                        "and (" +
+                            "o.totalPrice <> (select coalesce(sum(oi.orderPrice * oi.count), 0) from OrderItem oi where oi.order = o) " +
+                            "or o.lineCount <> (select count(oi) from OrderItem oi where oi.order = o)" +
+                        ") " +
+                        "order by " +
+                            "o.id", Long.class)
+                .setParameter("afterOrderId", afterOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public List<Order> findOrdersFetch() {
         return  em.createQuery(
                 "select " +
@@ -95,6 +161,29 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    //엔티티 그래프로 ToOne 연관관계만 선택해서 조인
+    //fetchgraph 는 그래프에 없는 연관관계를 지연 로딩으로 둔다
+    //ToOne 만 조인하므로 row 수가 늘지 않아 페이징 가능
+    public List<Order> findOrdersWithGraph(String graphName, int offset, int limit) {
+        TypedQuery<Order> query = em.createQuery("select o from Order o order by o.id", Order.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        if (graphName != null) {
+            query.setHint("jakarta.persistence.fetchgraph", em.getEntityGraph(graphName));
+        }
+        return query.getResultList();
+    }
+
+    //기본은 운영 테이블만 조회하고 보관 주문은 명시적으로 요청할 때만 함께 조회
+    public List<SimpleOrderQueryDto> findOrdersToDto(boolean includeArchive) {
+        List<SimpleOrderQueryDto> orders = findOrdersToDto();
+        if (includeArchive) {
+            orders = new ArrayList<>(orders);
+            orders.addAll(findArchivedOrdersToDto());
+        }
+        return orders;
+    }
+
     public List<SimpleOrderQueryDto> findOrdersToDto() {
         //new 명령어를 사용해서 JPQL 의 결과를 DTO 로 즉시 반환
         //SELECT 절에서 원하는 데이터를 직접 선택하기 때문에 성능이 향샹(생각보다 미비)
@@ -105,7 +194,8 @@ public class OrderRepository {
                                     "m.name," +
                                     "o.orderDate, " +
                                     "o.status, " +
-                                    "d.address" +
+                                    "d.address, " +
+                                    "o.totalPrice" +
                             ") " +
                         "from " +
                             "Order o " +
@@ -163,7 +253,8 @@ public class OrderRepository {
                             "m.name," +
                             "o.orderDate, " +
                             "o.status, " +
-                            "d.address" +
+                            "d.address, " +
+                            "o.totalPrice" +
                         ") " +
                         "from " +
                             "Order o " +
@@ -192,12 +283,203 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    //주문 단건 상세
+    //ToOne(회원, 배송) 조인 1번 + 주문상품 1번 > 주문상품 수와 관계없이 쿼리 2번
+    public OrderQueryDto findOrderDetail(Long orderId) {
+        List<OrderQueryDto> orders = em.createQuery(
+                "select " +
+                            "new com.shop.dto.OrderQueryDto( " +
+                            "o.id, " +
+                            "m.name," +
+                            "o.orderDate, " +
+                            "o.status, " +
+                            "d.address, " +
+                            "o.totalPrice, " +
+                            "d.status" +
+                        ") " +
+                        "from " +
+                            "Order o " +
+                        "join " +
+                            "o.member m " +
+                        "join " +
+                            "o.delivery d " +
+                        "where " +
+                            "o.id = :orderId", OrderQueryDto.class)
+                .setParameter("orderId", orderId)
+                .getResultList();
+
+        if (orders.isEmpty()) {
+            return null;
+        }
+        OrderQueryDto order = orders.get(0);
+        order.setOrderItems(getOrderItems(order));
+        return order;
+    }
+
+    //식별자 목록으로 여러 주문 조회
+    //ToOne 조인 in 절 1번 + 주문상품 in 절 1번 > 식별자 수와 관계없이 쿼리 2번
+    //반환 순서는 보장하지 않는다
+    public List<OrderQueryDto> findOrdersAndItemsByIds(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        List<OrderQueryDto> orders = em.createQuery(
+                "select " +
+                            "new com.shop.dto.OrderQueryDto( " +
+                            "o.id, " +
+                            "m.name," +
+                            "o.orderDate, " +
+                            "o.status, " +
+                            "d.address, " +
+                            "o.totalPrice, " +
+                            "d.status" +
+                        ") " +
+                        "from " +
+                            "Order o " +
+                        "join " +
+                            "o.member m " +
+                        "join " +
+                            "o.delivery d " +
+                        "where " +
+                            "o.id in :orderIds", OrderQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+        setOrderItems(orders);
+        return orders;
+    }
+
     //식별자로 ToMany 관계인 OrderItem 을 in 절로 조회
     //루트 1번, 컬렉션 1번
     //MAP 을 사용하여 성능 향상
     public List<OrderQueryDto> findOrdersAndItemsToDtoV2() {
 
         List<OrderQueryDto> orders = getOrders();
+        setOrderItems(orders);
+        return orders;
+    }
+
+    public List<OrderQueryDto> findOrdersAndItemsToDtoV2(boolean includeArchive) {
+        List<OrderQueryDto> orders = findOrdersAndItemsToDtoV2();
+        if (includeArchive) {
+            orders = new ArrayList<>(orders);
+            orders.addAll(findArchivedOrdersAndItemsToDto());
+        }
+        return orders;
+    }
+
+    //보관 테이블은 연관관계가 없으므로 식별자로 엔티티 조인(on)
+    private List<SimpleOrderQueryDto> findArchivedOrdersToDto() {
+        return em.createQuery(
+                "select " +
+                            "new com.shop.dto.SimpleOrderQueryDto(" +
+                                    "a.orderId, " +
+                                    "m.name, " +
+                                    "a.orderDate, " +
+                                    "a.status, " +
+                                    "d.address, " +
+                                    "a.totalPrice" +
+                            ") " +
+                        "from " +
+                            "ArchivedOrder a " +
+                        "join " +
+                            "Member m on m.id = a.memberId " +
+                        "join " +
+                            "ArchivedDelivery d on d.deliveryId = a.deliveryId", SimpleOrderQueryDto.class)
+                .getResultList();
+    }
+
+    private List<OrderQueryDto> findArchivedOrdersAndItemsToDto() {
+        List<OrderQueryDto> orders = em.createQuery(
+                "select " +
+                            "new com.shop.dto.OrderQueryDto( " +
+                            "a.orderId, " +
+                            "m.name," +
+                            "a.orderDate, " +
+                            "a.status, " +
+                            "d.address, " +
+                            "a.totalPrice" +
+                        ") " +
+                        "from " +
+                            "ArchivedOrder a " +
+                        "join " +
+                            "Member m on m.id = a.memberId " +
+                        "join " +
+                            "ArchivedDelivery d on d.deliveryId = a.deliveryId", OrderQueryDto.class)
+                .getResultList();
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        List<Long> orderIds = orders.stream()
+                .map(OrderQueryDto::getOrderId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = em.createQuery(
+                        "select " +
+                                    "new com.shop.dto.OrderItemQueryDto( " +
+                                    "ai.orderId, " +
+                                    "i.name, " +
+                                    "ai.orderPrice, " +
+                                    "ai.count " +
+                                ") " +
+                                "from " +
+                                    "ArchivedOrderItem ai " +
+                                "join " +
+                                    "Item i on i.id = ai.itemId " +
+                                "where " +
+                                    "ai.orderId in :orderIds", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+
+        orders.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
+        return orders;
+    }
+
+    //변경분 동기화 - 변경 버전 인덱스를 범위 스캔하고 주문상품은 in 절로 한번에 조회
+    //visibleVersion 이하만 조회 > 아직 커밋되지 않은 앞선 버전을 건너뛰지 않는다
+    public List<OrderQueryDto> findOrdersChangedAfter(long afterVersion, long visibleVersion, int limit) {
+        List<OrderQueryDto> orders = em.createQuery(
+                "select " +
+                            "new com.shop.dto.OrderQueryDto( " +
+                            "o.id, " +
+                            "m.name," +
+                            "o.orderDate, " +
+                            "o.status, " +
+                            "d.address, " +
+                            "o.totalPrice, " +
+                            "o.changeVersion" +
+                        ") " +
+                        "from " +
+                            "Order o " +
+                        "join " +
+                            "o.member m " +
+                        "join " +
+                            "o.delivery d " +
+                        "where " +
+                            "o.changeVersion > :afterVersion " +
+                        "and " +
+                            "o.changeVersion <= :visibleVersion " +
+                        "order by " +
+                            "o.changeVersion", OrderQueryDto.class)
+                .setParameter("afterVersion", afterVersion)
+                .setParameter("visibleVersion", visibleVersion)
+                .setMaxResults(limit)
+                .getResultList();
+        setOrderItems(orders);
+        return orders;
+    }
+
+    public long findMaxChangeVersion() {
+        return em.createQuery("select coalesce(max(o.changeVersion), 0) from Order o", Long.class)
+                .getSingleResult();
+    }
+
+    private void setOrderItems(List<OrderQueryDto> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
 
         List<Long> orderIds = orders.stream()
                 .map(OrderQueryDto::getOrderId)
@@ -209,8 +491,6 @@ public class OrderRepository {
                 .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
 
         orders.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
-
-        return orders;
     }
 
     private List<OrderItemQueryDto> getOrderItems(List<Long> orderIds) {
@@ -237,28 +517,56 @@ public class OrderRepository {
     //페이징 불가능
     //추가로 API 스펙과 맞추려면 추가로 애플리케이션에서 작업이 필요하다
     public List<OrderFlatDto> findOrdersAndItemsToDtoV3() {
-        return em.createQuery(
-                "select " +
-                            "new com.shop.dto.OrderFlatDto( " +
-                            "o.id, " +
-                            "m.name, " +
-                            "o.orderDate, " +
-                            "o.status, " +
-                            "d.address, " +
-                            "i.name, " +
-                            "oi.orderPrice, " +
-                            "oi.count " +
-                        ") " +
-                        "from " +
-                            "Order o " +
-                        "join " +
-                            "o.member m " +
-                        "join " +
-                            "o.delivery d " +
-                        "join " +
-                            "o.orderItems oi " +
-                        "join " +
-                            "oi.item i ", OrderFlatDto.class).getResultList();
+        return createFlatQuery().getResultList();
+    }
+
+    //한방 쿼리를 스트림으로 조회 - 전체 결과를 리스트로 만들지 않고 한 row 씩 처리
+    //커넥션을 사용하는 동안 트랜잭션 안에서 소비하고 반드시 close 해야 한다
+    public Stream<OrderFlatDto> streamOrdersAndItemsToDtoV3() {
+        return createFlatQuery().getResultStream();
     }
 
+    //상태를 가지지 않는 세션(StatelessSession)으로 한 row 씩 스크롤
+    //영속성 컨텍스트(1차 캐시, 변경 감지 스냅샷)가 없으므로 건수와 관계없이 힙 사용량이 일정하다
+    public void scrollOrdersAndItemsToDtoV3(int fetchSize, Consumer<OrderFlatDto> consumer) {
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<OrderFlatDto> results = session.createQuery(FLAT_JPQL + "order by o.id", OrderFlatDto.class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept(results.get());
+            }
+        }
+    }
+
+    private TypedQuery<OrderFlatDto> createFlatQuery() {
+        return em.createQuery(FLAT_JPQL, OrderFlatDto.class);
+    }
+
+    private static final String FLAT_JPQL =
+            "select " +
+                        "new com.shop.dto.OrderFlatDto( " +
+                        "o.id, " +
+                        "m.name, " +
+                        "o.orderDate, " +
+                        "o.status, " +
+                        "d.address, " +
+                        "i.id, " +
+                        "i.name, " +
+                        "oi.orderPrice, " +
+                        "oi.count " +
+                    ") " +
+                    "from " +
+                        "Order o " +
+                    "join " +
+                        "o.member m " +
+                    "join " +
+                        "o.delivery d " +
+                    "join " +
+                        "o.orderItems oi " +
+                    "join " +
+                        "oi.item i ";
+
 }
@@ -0,0 +1,61 @@
+package com.shop.repository;
+
+import com.shop.domain.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final EntityManager em;
+
+    public void save(OutboxEvent event) {
+        em.persist(event);
+    }
+
+    //식별자나 생성 시각은 커밋 순서와 다르므로 기준값 이후가 아닌 미발행 이벤트 전체를 조회
+    //- 늦게 커밋된 이벤트도 다음 폴링에서 반드시 조회된다(식별자 순서는 보장하지 않음)
+    //- 여러 인스턴스가 같은 이벤트를 동시에 발행하지 않도록 행을 잠근다
+    public List<OutboxEvent> findUnpublishedForUpdate(int limit) {
+        return em.createQuery(
+                "select " +
+                            "e " +
+                        "from " +
+                            "OutboxEvent e " +
+                        "where " +
+                            "e.publishedAt is null " +
+                        "order by " +
+                            "e.id", OutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //발행 시각이 기준 이전인 이벤트를 최대 limit 건 삭제 - 미발행(null) 이벤트는 삭제하지 않는다
+    //- idx_outbox_event_published 범위 스캔으로 대상을 찾고 식별자로 삭제
+    public int deletePublishedBefore(LocalDateTime publishedBefore, int limit) {
+        List<Long> ids = em.createQuery(
+                "select " +
+                            "e.id " +
+                        "from " +
+                            "OutboxEvent e " +
+                        "where " +
+                            "e.publishedAt < :publishedBefore", Long.class)
+                .setParameter("publishedBefore", publishedBefore)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return em.createQuery("delete from OutboxEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.shop.repository;
+
+import com.shop.domain.Address;
+import com.shop.domain.OrderStatus;
+import com.shop.dto.OrderItemQueryDto;
+import com.shop.dto.OrderQueryDto;
+import com.shop.dto.SimpleOrderQueryDto;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 논블로킹 주문 조회(R2DBC)
+ * - JPA 와 같은 DB 를 R2DBC 커넥션 풀로 조회하고 결과를 한 건씩 Flux 로 내보낸다
+ * - 구독자가 요청한 만큼만 row 를 읽으므로(backpressure) 느린 클라이언트 때문에 결과가 힙에 쌓이지 않는다
+ * - 스레드를 점유하지 않으므로 느린 클라이언트가 많아도 요청 스레드와 JDBC 커넥션을 사용하지 않는다
+ * - 커넥션 팩토리를 빈으로 등록하면 JDBC DataSource 자동 설정이 빠지므로 내부에서만 생성한다
+ */
+@Repository
+public class ReactiveOrderRepository implements DisposableBean {
+
+    private static final String SIMPLE_ORDER_SQL =
+            "select o.order_id, m.name, o.order_date, o.status, d.city, d.street, d.zipcode, o.total_price " +
+            "from orders o " +
+            "join member m on m.member_id = o.member_id " +
+            "join delivery d on d.delivery_id = o.delivery_id " +
+            "order by o.order_id";
+
+    //주문 순으로 정렬해서 같은 주문의 주문상품이 연속되도록
+    private static final String ORDER_ITEM_SQL =
+            "select o.order_id, m.name, o.order_date, o.status, d.city, d.street, d.zipcode, o.total_price, " +
+                    "i.name as item_name, oi.order_price, oi.count " +
+            "from orders o " +
+            "join member m on m.member_id = o.member_id " +
+            "join delivery d on d.delivery_id = o.delivery_id " +
+            "left join order_item oi on oi.order_id = o.order_id " +
+            "left join item i on i.item_id = oi.item_id " +
+            "order by o.order_id";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient client;
+
+    public ReactiveOrderRepository(@Value("${shop.reactive.url:r2dbc:h2:tcp://localhost/~/shop}") String url,
+                                   @Value("${shop.reactive.username:sa}") String username,
+                                   @Value("${shop.reactive.password:}") String password,
+                                   @Value("${shop.reactive.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        this.client = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<SimpleOrderQueryDto> findOrdersToDto() {
+        return client.sql(SIMPLE_ORDER_SQL)
+                .map((row, metadata) -> new SimpleOrderQueryDto(
+                        row.get("order_id", Long.class),
+                        row.get("name", String.class),
+                        row.get("order_date", LocalDateTime.class),
+                        OrderStatus.valueOf(row.get("status", String.class)),
+                        address(row),
+                        row.get("total_price", Integer.class)))
+                .all();
+    }
+
+    //한방 쿼리 row 를 주문이 바뀔 때마다 묶어서 OrderQueryDto 로 변환
+    public Flux<OrderQueryDto> findOrdersAndItemsToDto() {
+        return client.sql(ORDER_ITEM_SQL)
+                .map((row, metadata) -> new FlatRow(
+                        new OrderQueryDto(
+                                row.get("order_id", Long.class),
+                                row.get("name", String.class),
+                                row.get("order_date", LocalDateTime.class),
+                                OrderStatus.valueOf(row.get("status", String.class)),
+                                address(row),
+                                row.get("total_price", Integer.class)),
+                        orderItem(row)))
+                .all()
+                .bufferUntilChanged(flat -> flat.order().getOrderId())
+                .map(ReactiveOrderRepository::toOrder);
+    }
+
+    private static OrderQueryDto toOrder(List<FlatRow> rows) {
+        OrderQueryDto order = rows.get(0).order();
+        order.setOrderItems(rows.stream()
+                .map(FlatRow::orderItem)
+                .filter(orderItem -> orderItem != null)
+                .toList());
+        return order;
+    }
+
+    private static Address address(Row row) {
+        return new Address(row.get("city", String.class), row.get("street", String.class), row.get("zipcode", String.class));
+    }
+
+    //주문상품이 없는 주문은 null(left join)
+    private static OrderItemQueryDto orderItem(Row row) {
+        String itemName = row.get("item_name", String.class);
+        if (itemName == null) {
+            return null;
+        }
+        return new OrderItemQueryDto(row.get("order_id", Long.class), itemName,
+                row.get("order_price", Integer.class), row.get("count", Integer.class));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private record FlatRow(OrderQueryDto order, OrderItemQueryDto orderItem) {
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.shop.service;
+
+import com.shop.domain.Category;
+import com.shop.domain.item.Item;
+import com.shop.dto.CategoryQueryDto;
+import com.shop.dto.ItemQueryDto;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final CategoryTreeCache categoryTreeCache;
+
+    //부모를 먼저 저장해야 자식의 경로를 계산할 수 있다
+    @Transactional
+    public Long createCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            Category parent = categoryRepository.findOne(parentId);
+            parent.addChildCategory(category);
+        }
+        categoryRepository.save(category);
+        categoryTreeCache.invalidate();
+        return category.getId();
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        Category category = categoryRepository.findOne(categoryId);
+        Item item = itemRepository.findOne(itemId);
+        category.addItem(item);
+    }
+
+    public List<CategoryQueryDto> findTree() {
+        return categoryTreeCache.getRoots();
+    }
+
+    //경로는 캐시된 트리에서 찾고 상품은 쿼리 한번으로 조회
+    public List<ItemQueryDto> findItemsInSubtree(Long categoryId, int offset, int limit) {
+        CategoryQueryDto category = categoryTreeCache.get(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId);
+        }
+        return categoryRepository.findItemsInSubtree(category.getPath(), offset, limit);
+    }
+
+}
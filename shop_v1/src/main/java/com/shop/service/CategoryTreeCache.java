@@ -0,0 +1,91 @@
+package com.shop.service;
+
+import com.shop.dto.CategoryQueryDto;
+import com.shop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카테고리 트리 캐시
+ * - 카테고리는 자주 변하지 않고 조회는 많으므로 전체 트리를 메모리에 올려두고 탐색한다
+ * - 처음 조회할 때 쿼리 한번으로 트리를 구성하고, 카테고리가 변경되면 커밋 이후 무효화한다
+ * - 트리는 교체만 하고 수정하지 않으므로 조회하는 쪽은 락 없이 사용할 수 있다
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Tree tree;
+
+    //조회 중에 무효화되면 이전 데이터로 만든 트리를 저장하지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<CategoryQueryDto> getRoots() {
+        return load().roots;
+    }
+
+    public CategoryQueryDto get(Long categoryId) {
+        return load().nodes.get(categoryId);
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        tree = null;
+    }
+
+    private Tree load() {
+        Tree current = tree;
+        if (current == null) {
+            long loadedGeneration = generation.get();
+            current = build(categoryRepository.findAllToDto());
+            if (generation.get() == loadedGeneration) {
+                tree = current;
+            }
+        }
+        return current;
+    }
+
+    private Tree build(List<CategoryQueryDto> categories) {
+        Map<Long, CategoryQueryDto> nodes = new HashMap<>();
+        categories.forEach(c -> nodes.put(c.getCategoryId(), c));
+
+        List<CategoryQueryDto> roots = new ArrayList<>();
+        for (CategoryQueryDto category : categories) {
+            CategoryQueryDto parent = category.getParentId() == null ? null : nodes.get(category.getParentId());
+            if (parent == null) {
+                roots.add(category);
+            } else {
+                parent.getChild().add(category);
+            }
+        }
+        return new Tree(Collections.unmodifiableMap(nodes), Collections.unmodifiableList(roots));
+    }
+
+    private record Tree(Map<Long, CategoryQueryDto> nodes, List<CategoryQueryDto> roots) {
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.shop.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블(애그리거트) 단위 변경 버전
+ * - 쓰기 서비스가 변경할 때마다 버전을 올리고, 조회 API 는 버전으로 ETag 를 만든다
+ * - 버전이 같다면 DB 를 조회하지 않고 304 Not Modified 로 응답할 수 있다
+ * - 커밋 전에 버전을 올리면 커밋 전 데이터가 새 ETag 로 캐시될 수 있으므로 커밋 이후에 올린다
+ * - 초기값은 기동 시각 > 재시작 후 이전 ETag 가 우연히 일치하지 않는다
+ */
+@Component
+public class DataVersionTracker {
+
+    public enum Table {
+        ORDER, ITEM, MEMBER
+    }
+
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+    private final Map<Table, AtomicLong> lastModified = new EnumMap<>(Table.class);
+
+    public DataVersionTracker() {
+        long now = System.currentTimeMillis();
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong(now));
+            lastModified.put(table, new AtomicLong(now));
+        }
+    }
+
+    public void bump(Table table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increase(table);
+                }
+            });
+        } else {
+            increase(table);
+        }
+    }
+
+    public long version(Table table) {
+        return versions.get(table).get();
+    }
+
+    //여러 테이블의 데이터가 섞인 응답은 각 버전을 모두 조합한다
+    public String etag(Table... tables) {
+        StringBuilder etag = new StringBuilder();
+        for (Table table : tables) {
+            if (etag.length() > 0) {
+                etag.append('-');
+            }
+            etag.append(Long.toHexString(version(table)));
+        }
+        return etag.toString();
+    }
+
+    public long lastModified(Table... tables) {
+        long max = 0;
+        for (Table table : tables) {
+            max = Math.max(max, lastModified.get(table).get());
+        }
+        return max;
+    }
+
+    private void increase(Table table) {
+        versions.get(table).incrementAndGet();
+        lastModified.get(table).accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.shop.service;
+
+import com.shop.domain.OutboxEvent;
+import com.shop.domain.OutboxEventType;
+import com.shop.domain.item.Album;
+import com.shop.domain.item.Book;
+import com.shop.domain.item.Item;
+import com.shop.domain.item.Movie;
+import com.shop.dto.ItemQueryDto;
+import com.shop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색 역색인
+ * - 토큰 > 문서 번호(int) 목록을 메모리에 유지하므로 LIKE '%x%' 풀 스캔 없이 검색한다
+ * - 문서 번호는 상품마다 한번 부여하고 상품 식별자와 조회 결과(이름, 가격)는 문서 번호로 찾는다
+ * - 포스팅 리스트는 문서 번호 오름차순의 int 배열과 필드 가중치 int 배열 - 박싱 없음
+ * - 시작 시 전체 상품으로 구축하고 상품 저장/수정 아웃박스 이벤트를 받으면 해당 문서만 다시 색인한다
+ * - 이벤트는 커밋된 변경만 남으므로 롤백된 변경은 색인되지 않는다(반영은 폴링 주기만큼 늦을 수 있음)
+ * - 점수는 일치한 토큰의 필드 가중치 합(이름 3, 그 외 1)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex implements OutboxEventSubscriber {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int FIELD_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> index = new HashMap<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        List<Document> loaded = itemRepository.findAll().stream()
+                .map(ItemSearchIndex::toDocument)
+                .toList();
+        loaded.forEach(this::put);
+        log.info("item search index built: items={}, tokens={}", loaded.size(), index.size());
+    }
+
+    //OutboxPoller 의 트랜잭션 안에서 호출 - 같은 상품의 이벤트가 여러 건이어도 한번만 다시 읽는다
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        events.stream()
+                .filter(event -> event.getEventType() == OutboxEventType.ITEM_SAVED
+                        || event.getEventType() == OutboxEventType.ITEM_UPDATED)
+                .map(OutboxEvent::getAggregateId)
+                .distinct()
+                .map(itemRepository::findOne)
+                .filter(Objects::nonNull)
+                .map(ItemSearchIndex::toDocument)
+                .forEach(this::put);
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] scores = new int[documents.size()];
+            int[] matched = new int[documents.size()];
+            int matchedCount = 0;
+            for (String token : tokens.stream().distinct().toList()) {
+                Postings postings = index.get(token);
+                if (postings == null) {
+                    continue;
+                }
+                for (int i = 0; i < postings.size; i++) {
+                    int docId = postings.docIds[i];
+                    if (scores[docId] == 0) {
+                        matched[matchedCount++] = docId;
+                    }
+                    scores[docId] += postings.weights[i];
+                }
+            }
+
+            //점수 내림차순, 같은 점수는 상품 식별자 오름차순
+            Integer[] ranked = new Integer[matchedCount];
+            for (int i = 0; i < matchedCount; i++) {
+                ranked[i] = matched[i];
+            }
+            Arrays.sort(ranked, (a, b) -> scores[a] != scores[b]
+                    ? Integer.compare(scores[b], scores[a])
+                    : Long.compare(documents.get(a).itemId(), documents.get(b).itemId()));
+
+            List<ItemQueryDto> items = new ArrayList<>();
+            for (int i = Math.max(offset, 0); i < matchedCount && items.size() < limit; i++) {
+                Document document = documents.get(ranked[i]);
+                items.add(new ItemQueryDto(document.itemId(), document.name(), document.price()));
+            }
+            return new SearchResult(items, matchedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.get(document.itemId());
+            if (docId == null) {
+                docId = documents.size();
+                docIds.put(document.itemId(), docId);
+                documents.add(document);
+            } else {
+                //이전 토큰을 제거하고 다시 색인
+                for (String token : documents.get(docId).tokens().keySet()) {
+                    Postings postings = index.get(token);
+                    postings.remove(docId);
+                    if (postings.size == 0) {
+                        index.remove(token);
+                    }
+                }
+                documents.set(docId, document);
+            }
+            for (Map.Entry<String, Integer> token : document.tokens().entrySet()) {
+                index.computeIfAbsent(token.getKey(), k -> new Postings()).add(docId, token.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Document toDocument(Item item) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        addTokens(tokens, item.getName(), NAME_WEIGHT);
+
+        Object target = Hibernate.unproxy(item);
+        if (target instanceof Book book) {
+            addTokens(tokens, book.getAuthor(), FIELD_WEIGHT);
+            addTokens(tokens, book.getIsbn(), FIELD_WEIGHT);
+        } else if (target instanceof Album album) {
+            addTokens(tokens, album.getArtist(), FIELD_WEIGHT);
+        } else if (target instanceof Movie movie) {
+            addTokens(tokens, movie.getDirector(), FIELD_WEIGHT);
+            addTokens(tokens, movie.getActor(), FIELD_WEIGHT);
+        }
+        return new Document(item.getId(), item.getName(), item.getPrice(), tokens);
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tokens.merge(token, weight, Integer::sum);
+        }
+    }
+
+    //문자와 숫자 이외의 문자로 분리하고 소문자로 정규화
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private record Document(Long itemId, String name, int price, Map<String, Integer> tokens) {
+    }
+
+    public record SearchResult(List<ItemQueryDto> items, int total) {
+    }
+
+    //문서 번호 오름차순으로 정렬된 포스팅 리스트
+    private static class Postings {
+
+        private int[] docIds = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int docId, int weight) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                weights[position] = weight;
+                return;
+            }
+            position = -position - 1;
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docIds, position, docIds, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            docIds[position] = docId;
+            weights[position] = weight;
+            size++;
+        }
+
+        void remove(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+        }
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.shop.service;
 
+import com.shop.domain.OutboxEventType;
 import com.shop.domain.item.Book;
 import com.shop.domain.item.Item;
 import com.shop.repository.ItemRepository;
+import com.shop.service.DataVersionTracker.Table;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,10 +17,14 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final DataVersionTracker dataVersionTracker;
+    private final OutboxService outboxService;
 
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        outboxService.record(OutboxEventType.ITEM_SAVED, item.getId());
+        dataVersionTracker.bump(Table.ITEM);
     }
 
     /**
@@ -33,6 +39,8 @@ public class ItemService {
         findItem.setPrice(price);
         findItem.setName(name);
         findItem.setStockQuantity(stock);
+        outboxService.record(OutboxEventType.ITEM_UPDATED, itemId);
+        dataVersionTracker.bump(Table.ITEM);
     }
 
     public List<Item> findAll() {
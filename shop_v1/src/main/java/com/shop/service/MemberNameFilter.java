@@ -0,0 +1,104 @@
+package com.shop.service;
+
+import com.shop.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * 회원 이름 블룸 필터
+ * - 가입 시 중복 검증 앞단에서 "확실히 없는" 이름을 걸러내 DB 조회를 생략한다
+ * - 블룸 필터는 false positive 는 있지만 false negative 는 없다 > mightContain 이 false 면 DB 에 없는 이름
+ * - 삭제를 지원하지 않으므로 이름이 변경되어도 이전 이름은 남는다(false positive 가 늘 뿐 정합성 문제는 없다)
+ * - 애플리케이션 시작 시 DB 의 이름으로 채우고, 채우기 전에는 항상 DB 를 조회하도록 true 를 반환한다
+ * - 동시 가입 등 필터가 놓치는 경쟁 상황은 member.name 유니크 제약조건이 최종적으로 막는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberNameFilter {
+
+    private final MemberRepository memberRepository;
+
+    @Value("${shop.member.name-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${shop.member.name-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile AtomicLongArray bits;
+    private volatile int numBits;
+    private volatile int numHashFunctions;
+    private volatile boolean warmed = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        //비트 수 m = -n * ln(p) / (ln2)^2, 해시 함수 수 k = m / n * ln2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        numBits = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        numHashFunctions = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        bits = new AtomicLongArray((numBits + 63) >>> 6);
+
+        long count;
+        try (Stream<String> names = memberRepository.streamNames()) {
+            count = names.peek(this::put).count();
+        }
+        warmed = true;
+        log.info("member name filter warmed: names={}, bits={}, hashFunctions={}", count, numBits, numHashFunctions);
+    }
+
+    public boolean mightContain(String name) {
+        if (!warmed || name == null) {
+            return true;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            int index = bitIndex(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String name) {
+        AtomicLongArray current = bits;
+        if (current == null || name == null) {
+            return;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            int index = bitIndex(h1 + i * h2);
+            long mask = 1L << index;
+            current.getAndAccumulate(index >>> 6, mask, (prev, bit) -> prev | bit);
+        }
+    }
+
+    private int bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % numBits;
+    }
+
+    //FNV-1a 64bit - 상위/하위 32bit 를 이중 해싱의 두 해시로 사용한다
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+}
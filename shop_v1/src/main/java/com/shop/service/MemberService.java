@@ -1,12 +1,17 @@
 package com.shop.service;
 
 import com.shop.domain.Member;
+import com.shop.domain.OutboxEventType;
+import com.shop.dto.MemberQueryDto;
 import com.shop.repository.MemberRepository;
+import com.shop.service.DataVersionTracker.Table;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional(readOnly = true)
@@ -14,17 +19,31 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final MemberNameFilter memberNameFilter;
+    private final DataVersionTracker dataVersionTracker;
+    private final OutboxService outboxService;
 
     @Transactional
     public Long join(Member member) {
         validateDuplicateMember(member.getName());
-        return memberRepository.save(member);
+        Long memberId = saveUnique(member);
+        memberNameFilter.put(member.getName());
+        dataVersionTracker.bump(Table.MEMBER);
+        return memberId;
     }
 
     public List<Member> findMembers() {
         return memberRepository.findAll();
     }
 
+    //lastMemberId 가 있으면 키셋 페이징, 없으면 offset 페이징
+    public List<MemberQueryDto> findMembersSlice(Long lastMemberId, int offset, int limit) {
+        if(lastMemberId != null) {
+            return memberRepository.findMembersSliceAfter(lastMemberId, limit);
+        }
+        return memberRepository.findMembersSlice(offset, limit);
+    }
+
     public Member findOne(Long id) {
         return memberRepository.findOne(id);
     }
@@ -32,15 +51,32 @@ public class MemberService {
     @Transactional
     public Member update(Long memberId, String name) {
         Member findMember = memberRepository.findOne(memberId);
+        if(!Objects.equals(findMember.getName(), name)) {
+            validateDuplicateMember(name);
+            memberNameFilter.put(name);
+        }
         findMember.setName(name);
+        //회원 이름은 주문 조회 응답에도 포함된다 - 주문 상세 캐시는 아웃박스 이벤트로 비운다
+        outboxService.record(OutboxEventType.MEMBER_UPDATED, memberId);
+        dataVersionTracker.bump(Table.MEMBER);
         return findMember;
     }
 
+    //블룸 필터가 확실히 없다고 판단한 이름은 DB 조회를 생략
+    //있을 수도 있는 이름만 exists 쿼리로 확인한다
     private void validateDuplicateMember(String name) {
-        List<Member> findMembers = memberRepository.findByName(name);
-        if(!findMembers.isEmpty()) {
+        if(memberNameFilter.mightContain(name) && memberRepository.existsByName(name)) {
             throw new IllegalStateException("이미 존재하는 회원입니다.");
         }
     }
 
+    //검증을 통과해도 동시에 같은 이름으로 가입할 수 있다 - 최종 판단은 유니크 제약조건
+    private Long saveUnique(Member member) {
+        try {
+            return memberRepository.save(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.shop.service;
+
+import com.shop.repository.OrderArchiveRepository;
+import com.shop.service.DataVersionTracker.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 보관(아카이브) 배치
+ * - 오래되고 끝난(취소 또는 배송완료) 주문을 보관 테이블로 옮겨 운영 테이블과 인덱스를 작게 유지한다
+ * - 배치 단위로 복사 + 삭제를 한 트랜잭션에서 처리하고 바로 커밋 > 락을 짧게 유지
+ * - 중간에 실패해도 커밋된 배치는 이미 옮겨졌고 실패한 배치는 롤백되므로 다시 실행하면 이어서 처리된다
+ * - 배치가 커밋되면 옮긴 주문을 주문 상세 캐시에서 제거한다
+ */
+@Slf4j
+@Component
+public class OrderArchiveJob {
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataVersionTracker dataVersionTracker;
+    private final OrderDetailCache orderDetailCache;
+    private final Duration age;
+    private final int batchSize;
+
+    public OrderArchiveJob(OrderArchiveRepository orderArchiveRepository,
+                           TransactionTemplate transactionTemplate,
+                           DataVersionTracker dataVersionTracker,
+                           OrderDetailCache orderDetailCache,
+                           @Value("${shop.archive.age:P90D}") Duration age,
+                           @Value("${shop.archive.batch-size:500}") int batchSize) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersionTracker = dataVersionTracker;
+        this.orderDetailCache = orderDetailCache;
+        this.age = age;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${shop.archive.cron:0 30 3 * * *}")
+    public int archive() {
+        LocalDateTime orderedBefore = LocalDateTime.now().minus(age);
+        int archived = 0;
+        while (true) {
+            List<Long> moved = transactionTemplate.execute(status -> archiveBatch(orderedBefore));
+            if (moved == null || moved.isEmpty()) {
+                break;
+            }
+            archived += moved.size();
+            orderDetailCache.evict(moved);
+            dataVersionTracker.bump(Table.ORDER);
+        }
+        log.info("order archive finished: archived={}, orderedBefore={}", archived, orderedBefore);
+        return archived;
+    }
+
+    //옮긴 주문 식별자
+    private List<Long> archiveBatch(LocalDateTime orderedBefore) {
+        List<Object[]> targets = orderArchiveRepository.findArchiveTargets(orderedBefore, batchSize);
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        List<Long> orderIds = targets.stream().map(t -> (Long) t[0]).toList();
+        List<Long> deliveryIds = targets.stream().map(t -> (Long) t[1]).toList();
+        orderArchiveRepository.copyToArchive(orderIds, deliveryIds);
+        orderArchiveRepository.deleteFromHot(orderIds, deliveryIds);
+        return orderIds;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.shop.service;
+
+import com.shop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주문 변경 버전 발급
+ * - 처음 발급할 때 DB 의 최대 버전에서 이어서 시작한다
+ * - 애플리케이션 인스턴스가 하나라는 전제 - 여러 인스턴스라면 DB 시퀀스로 교체해야 한다
+ * - 처음 발급할 때 락 안에서 DB 를 조회하므로 synchronized 대신 ReentrantLock(가상 스레드 고정 방지)
+ *
+ * 버전은 트랜잭션 도중에 발급되고 커밋 순서와 다르다
+ * - 발급 후 아직 끝나지 않은(커밋/롤백 전) 버전을 보관하고
+ * - 조회는 그중 가장 작은 버전 직전까지만 허용한다(visibleVersion)
+ * - 그 아래 버전은 모두 커밋 또는 롤백이 끝났으므로 나중에 나타나는 버전이 없다
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderChangeVersion {
+
+    private final OrderRepository orderRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long current = -1;
+
+    //발급했지만 트랜잭션이 끝나지 않은 버전(lock 안에서만 접근)
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    public long next() {
+        long version;
+        lock.lock();
+        try {
+            init();
+            version = ++current;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.add(version);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(version);
+                }
+            });
+        }
+        return version;
+    }
+
+    //이 버전 이하의 변경은 모두 커밋(또는 롤백)이 끝났다
+    public long visibleVersion() {
+        lock.lock();
+        try {
+            init();
+            return inFlight.isEmpty() ? current : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(long version) {
+        lock.lock();
+        try {
+            inFlight.remove(version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void init() {
+        if (current < 0) {
+            current = orderRepository.findMaxChangeVersion();
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.shop.service;
+
+import com.shop.domain.OutboxEvent;
+import com.shop.dto.OrderQueryDto;
+import com.shop.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 상세 캐시(read-through)
+ * - 주문 단건 조회는 캐시에서 먼저 찾고 없으면 DB 에서 읽어 저장한다
+ * - 최대 건수를 넘으면 가장 오래 조회되지 않은 주문부터 제거(LRU)
+ * - 저장 후 ttl 이 지나면 다시 읽는다(expire-after-write) > 놓친 무효화가 있어도 ttl 이상 남지 않는다
+ * - 주문 취소, 배송 상태 변경 아웃박스 이벤트를 받으면 해당 주문만 제거한다(폴링 주기만큼 늦을 수 있음)
+ * - 상품, 회원 이름 변경 이벤트를 받으면 전체를 비운다 - 어떤 주문에 포함됐는지 역추적하지 않는다
+ * - 보관(아카이브)된 주문은 OrderArchiveJob 이 커밋 이후 제거한다
+ * - 캐시된 DTO 는 여러 요청이 공유하므로 꺼낸 쪽에서 수정하지 않는다
+ */
+@Component
+public class OrderDetailCache implements OutboxEventSubscriber {
+
+    private final OrderRepository orderRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    //접근 순서 LinkedHashMap - 조회할 때마다 맨 뒤로 이동하고 맨 앞이 제거 대상
+    private final Map<Long, Entry> entries;
+
+    //조회 중에 무효화되면 이전 데이터를 저장하지 않기 위한 세대 번호(entries 락 안에서만 변경)
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public OrderDetailCache(OrderRepository orderRepository,
+                            @Value("${shop.order.detail-cache.max-size:10000}") int maxSize,
+                            @Value("${shop.order.detail-cache.ttl:PT10M}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > OrderDetailCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    //없는 주문이면 null - 없는 주문은 캐시하지 않는다
+    public OrderQueryDto get(Long orderId) {
+        long loadedGeneration;
+        synchronized (entries) {
+            Entry cached = entries.get(orderId);
+            if (cached != null) {
+                if (cached.expiresAt() - System.nanoTime() > 0) {
+                    hits.increment();
+                    return cached.order();
+                }
+                entries.remove(orderId);
+                evictions.increment();
+            }
+            loadedGeneration = generation;
+        }
+
+        //DB 조회는 락 밖에서
+        misses.increment();
+        long start = System.nanoTime();
+        OrderQueryDto loaded = orderRepository.findOrderDetail(orderId);
+        loadNanos.add(System.nanoTime() - start);
+
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation == loadedGeneration) {
+                    entries.put(orderId, new Entry(loaded, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            switch (event.getEventType()) {
+                case ORDER_CANCELED, ORDER_DELIVERY_CHANGED -> evict(List.of(event.getAggregateId()));
+                case ITEM_UPDATED, MEMBER_UPDATED -> clear();
+                default -> {
+                }
+            }
+        }
+    }
+
+    //커밋된 삭제/변경 이후에 호출
+    public void evict(Collection<Long> orderIds) {
+        synchronized (entries) {
+            generation++;
+            orderIds.forEach(entries::remove);
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        double hitRate = requests == 0 ? 0 : (double) hitCount / requests;
+        double averageLoadMillis = missCount == 0 ? 0 : loadNanos.sum() / 1_000_000.0 / missCount;
+        return new Stats(size, maxSize, hitCount, missCount, hitRate, averageLoadMillis, evictions.sum());
+    }
+
+    private record Entry(OrderQueryDto order, long expiresAt) {
+    }
+
+    public record Stats(int size, int maxSize, long hits, long misses, double hitRate,
+                        double averageLoadMillis, long evictions) {
+    }
+
+}
@@ -1,14 +1,19 @@
 package com.shop.service;
 
 import com.shop.domain.Order;
+import com.shop.domain.OrderExpand;
 import com.shop.domain.OrderItem;
 import com.shop.domain.OrderSearch;
+import com.shop.dto.OrderExpandDto;
+import com.shop.dto.OrderItemQueryDto;
+import com.shop.dto.OrderQueryDto;
 import com.shop.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
@@ -16,6 +21,7 @@ import java.util.List;
 public class OrderQueryService {
 
     private final OrderRepository orderRepository;
+    private final OrderChangeVersion orderChangeVersion;
 
     public List<Order> getOrders() {
         List<Order> orders = orderRepository.findOrders(new OrderSearch());
@@ -28,4 +34,37 @@ public class OrderQueryService {
         return orders;
     }
 
+    //커밋이 늦은 트랜잭션이 앞선 버전을 뒤늦게 노출할 수 있으므로 진행 중인 가장 작은 버전 직전까지만 반환
+    //기준을 먼저 구한 뒤 조회 - 기준 이하 버전은 조회 시점에 모두 커밋되어 있다
+    public List<OrderQueryDto> findOrdersChangedAfter(long afterVersion, int limit) {
+        return orderRepository.findOrdersChangedAfter(afterVersion, orderChangeVersion.visibleVersion(), limit);
+    }
+
+    //요청한 연관관계만 조회
+    //ToOne(member, delivery)은 엔티티 그래프로 조인, 컬렉션(items)은 default_batch_fetch_size 로 in 절 조회
+    public List<OrderExpandDto> findOrders(Set<OrderExpand> expand, int offset, int limit) {
+        List<Order> orders = orderRepository.findOrdersWithGraph(OrderExpand.graphName(expand), offset, limit);
+        return orders.stream()
+                .map(order -> toExpandDto(order, expand))
+                .toList();
+    }
+
+    private OrderExpandDto toExpandDto(Order order, Set<OrderExpand> expand) {
+        OrderExpandDto dto = new OrderExpandDto(order.getId(), order.getOrderDate(), order.getStatus(), order.getTotalPrice());
+        if (expand.contains(OrderExpand.MEMBER)) {
+            dto.setMemberId(order.getMember().getId());
+            dto.setName(order.getMember().getName());
+        }
+        if (expand.contains(OrderExpand.DELIVERY)) {
+            dto.setAddress(order.getDelivery().getAddress());
+            dto.setDeliveryStatus(order.getDelivery().getStatus());
+        }
+        if (expand.contains(OrderExpand.ITEMS)) {
+            dto.setOrderItems(order.getOrderItems().stream()
+                    .map(oi -> new OrderItemQueryDto(order.getId(), oi.getItem().getName(), oi.getOrderPrice(), oi.getCount()))
+                    .toList());
+        }
+        return dto;
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.shop.service;
+
+import com.shop.domain.Order;
+import com.shop.dto.OrderQueryDto;
+import com.shop.repository.OrderRepository;
+import com.shop.service.DataVersionTracker.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 무거운 주문 조회 합치기
+ * - 대시보드 새로고침처럼 같은 조회가 동시에 몰리면 DB 조회는 한번만 하고 결과를 공유한다
+ * - 키에 데이터 버전을 포함하므로 커밋된 변경 이후의 요청은 이전 결과를 받지 않는다
+ * - shop.order.coalesce.ttl 을 지정하면 그 시간 동안 결과를 재사용(기본 0 - 실행 중인 조회만 공유)
+ * - 결과는 여러 요청이 공유하므로 DTO 만 공유한다 - 엔티티는 조회 안에서 DTO 로 변환하고 밖으로 내보내지 않는다
+ *   (준영속 엔티티를 공유하면 지연 로딩 예외나 다른 요청의 수정이 그대로 보이는 문제가 생긴다)
+ * - 공유 목록은 수정할 수 없는 목록으로 반환하고, 꺼낸 쪽에서 DTO 를 수정하지 않는다
+ */
+@Component
+public class OrderReadCoalescer {
+
+    private static final Table[] ORDER_TABLES = {Table.ORDER, Table.ITEM, Table.MEMBER};
+
+    private final OrderRepository orderRepository;
+    private final DataVersionTracker dataVersionTracker;
+    private final SingleFlight<String, List<?>> singleFlight;
+
+    public OrderReadCoalescer(OrderRepository orderRepository, DataVersionTracker dataVersionTracker,
+                              @Value("${shop.order.coalesce.ttl:PT0S}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.dataVersionTracker = dataVersionTracker;
+        this.singleFlight = new SingleFlight<>(ttl);
+    }
+
+    //변환 결과 타입을 키에 포함 - 같은 조회라도 DTO 가 다르면 따로 실행
+    public <R> List<R> findOrdersAndItems(Class<R> type, Function<Order, R> mapper) {
+        return execute("findOrdersAndItems:" + type.getName(),
+                () -> orderRepository.findOrdersAndItems()
+                        .stream()
+                        .map(mapper)
+                        .toList());
+    }
+
+    public List<OrderQueryDto> findOrdersAndItemsToDtoV2(boolean includeArchive) {
+        return execute("findOrdersAndItemsToDtoV2:" + includeArchive,
+                () -> orderRepository.findOrdersAndItemsToDtoV2(includeArchive));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> execute(String key, Supplier<List<T>> loader) {
+        //버전은 조회보다 먼저 읽는다 - 조회 중 커밋된 변경은 다음 버전 키로 다시 조회
+        String versionedKey = key + ":" + dataVersionTracker.etag(ORDER_TABLES);
+        return (List<T>) singleFlight.execute(versionedKey, () -> List.copyOf(loader.get()));
+    }
+
+}
@@ -5,6 +5,7 @@ import com.shop.domain.item.Item;
 import com.shop.repository.ItemRepository;
 import com.shop.repository.MemberRepository;
 import com.shop.repository.OrderRepository;
+import com.shop.service.DataVersionTracker.Table;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,10 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
+    private final DataVersionTracker dataVersionTracker;
+    private final SalesRollupService salesRollupService;
+    private final OutboxService outboxService;
+    private final OrderChangeVersion orderChangeVersion;
 
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
@@ -35,7 +40,14 @@ public class OrderService {
 
         //주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
+        order.markChanged(orderChangeVersion.next());
         orderRepository.save(order);
+        salesRollupService.recordOrder(order);
+        outboxService.record(OutboxEventType.ORDER_CREATED, order.getId());
+
+        //주문 생성 시 재고가 변경되므로 상품 버전도 올린다
+        dataVersionTracker.bump(Table.ORDER);
+        dataVersionTracker.bump(Table.ITEM);
 
         return order.getId();
     }
@@ -44,6 +56,19 @@ public class OrderService {
     public void cancelOrder(Long orderId) {
         Order order = orderRepository.findOne(orderId);
         order.cancel();
+        order.markChanged(orderChangeVersion.next());
+        salesRollupService.recordCancel(order);
+        outboxService.record(OutboxEventType.ORDER_CANCELED, orderId);
+
+        dataVersionTracker.bump(Table.ORDER);
+        dataVersionTracker.bump(Table.ITEM);
+    }
+
+    @Transactional
+    public void changeDeliveryStatus(Long orderId, DeliveryStatus deliveryStatus) {
+        Order order = orderRepository.findOne(orderId);
+        order.changeDeliveryStatus(deliveryStatus);
+        outboxService.record(OutboxEventType.ORDER_DELIVERY_CHANGED, orderId);
     }
 
     /**
@@ -0,0 +1,234 @@
+package com.shop.service;
+
+import com.shop.domain.OrderStatus;
+import com.shop.dto.OrderFlatDto;
+import com.shop.dto.SalesSummaryDto;
+import com.shop.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 분석용 컬럼형 주문 스냅샷
+ * - V6 한방 쿼리(주문 x 주문상품) 결과를 주기적으로 읽어 컬럼별 기본형 배열로 보관한다
+ * - 문자열(회원명)과 상품, 주문 상태는 사전 인코딩 > 행마다 int / byte 코드만 저장
+ * - 상품 사전의 키는 상품 식별자 - 이름이 같은 상품도 따로 집계하고 상품명은 결과 표시에만 사용
+ * - 주문상품 한 건당 약 29byte(long 1, int 5, byte 1) - OrderFlatDto 와 박싱 객체, Address 대비 일부
+ * - 스냅샷은 읽기 전용이고 갱신 시 통째로 교체하므로 조회는 락 없이 병렬 스캔한다
+ */
+@Slf4j
+@Component
+public class OrderSnapshot {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readOnly;
+
+    private volatile Columns columns = Columns.EMPTY;
+
+    public OrderSnapshot(OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.snapshot.refresh-interval:PT5M}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        Columns refreshed = readOnly.execute(status -> {
+            try (Stream<OrderFlatDto> rows = orderRepository.streamOrdersAndItemsToDtoV3()) {
+                Builder builder = new Builder();
+                rows.forEach(builder::add);
+                return builder.build();
+            }
+        });
+        columns = refreshed;
+        log.info("order snapshot refreshed: lines={}, items={}, members={}, {}ms",
+                refreshed.size, refreshed.itemNames.length, refreshed.memberNames.length,
+                System.currentTimeMillis() - start);
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    //상품별 매출 - 기간, 주문 상태는 선택 조건
+    public List<SalesSummaryDto> sumByItem(LocalDate from, LocalDate to, OrderStatus status) {
+        Columns c = columns;
+        long[][] sums = groupSum(c, filter(c, from, to, status), i -> c.itemCodes[i], c.itemNames.length);
+
+        List<SalesSummaryDto> result = new ArrayList<>();
+        for (int code = 0; code < c.itemNames.length; code++) {
+            if (sums[0][code] > 0) {
+                result.add(new SalesSummaryDto(c.itemNames[code], sums[0][code], sums[1][code], sums[2][code]));
+            }
+        }
+        return result;
+    }
+
+    //일자별 매출 - 그룹 키는 스냅샷의 최소 일자부터의 오프셋
+    public List<SalesSummaryDto> sumByDay(LocalDate from, LocalDate to, OrderStatus status) {
+        Columns c = columns;
+        if (c.size == 0) {
+            return List.of();
+        }
+        int groups = c.maxDay - c.minDay + 1;
+        long[][] sums = groupSum(c, filter(c, from, to, status), i -> c.epochDays[i] - c.minDay, groups);
+
+        List<SalesSummaryDto> result = new ArrayList<>();
+        for (int day = 0; day < groups; day++) {
+            if (sums[0][day] > 0) {
+                String date = LocalDate.ofEpochDay((long) c.minDay + day).toString();
+                result.add(new SalesSummaryDto(date, sums[0][day], sums[1][day], sums[2][day]));
+            }
+        }
+        return result;
+    }
+
+    private IntPredicate filter(Columns c, LocalDate from, LocalDate to, OrderStatus status) {
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        int statusCode = status == null ? -1 : status.ordinal();
+        return i -> c.epochDays[i] >= fromDay && c.epochDays[i] <= toDay
+                && (statusCode < 0 || c.statusCodes[i] == statusCode);
+    }
+
+    //행 구간을 코어 수 만큼 나누어 구간별 부분합을 구한 뒤 합친다
+    //결과: [0] 주문상품 수, [1] 수량, [2] 금액
+    private long[][] groupSum(Columns c, IntPredicate filter, IntUnaryOperator key, int groups) {
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, c.size / 4096 + 1));
+        int chunkSize = (c.size + chunks - 1) / chunks;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long[][] partial = new long[3][groups];
+                    int end = Math.min(c.size, (chunk + 1) * chunkSize);
+                    for (int i = chunk * chunkSize; i < end; i++) {
+                        if (filter.test(i)) {
+                            int group = key.applyAsInt(i);
+                            partial[0][group]++;
+                            partial[1][group] += c.counts[i];
+                            partial[2][group] += (long) c.orderPrices[i] * c.counts[i];
+                        }
+                    }
+                    return partial;
+                })
+                .reduce(new long[3][groups], (a, b) -> {
+                    long[][] merged = new long[3][groups];
+                    for (int m = 0; m < 3; m++) {
+                        for (int g = 0; g < groups; g++) {
+                            merged[m][g] = a[m][g] + b[m][g];
+                        }
+                    }
+                    return merged;
+                });
+    }
+
+    //주문상품 한 건이 한 행 - 모든 배열은 같은 인덱스가 같은 행
+    private static final class Columns {
+
+        static final Columns EMPTY = new Builder().build();
+
+        final int size;
+        final long[] orderIds;
+        final int[] epochDays;
+        final byte[] statusCodes;
+        final int[] memberCodes;
+        final int[] itemCodes;
+        final int[] orderPrices;
+        final int[] counts;
+        final String[] memberNames;
+        final String[] itemNames;
+        final int minDay;
+        final int maxDay;
+
+        Columns(Builder b) {
+            this.size = b.size;
+            this.orderIds = Arrays.copyOf(b.orderIds, b.size);
+            this.epochDays = Arrays.copyOf(b.epochDays, b.size);
+            this.statusCodes = Arrays.copyOf(b.statusCodes, b.size);
+            this.memberCodes = Arrays.copyOf(b.memberCodes, b.size);
+            this.itemCodes = Arrays.copyOf(b.itemCodes, b.size);
+            this.orderPrices = Arrays.copyOf(b.orderPrices, b.size);
+            this.counts = Arrays.copyOf(b.counts, b.size);
+            this.memberNames = b.memberNames.toArray(String[]::new);
+            this.itemNames = b.itemNames.toArray(String[]::new);
+            this.minDay = b.minDay;
+            this.maxDay = b.maxDay;
+        }
+    }
+
+    private static final class Builder {
+
+        int size;
+        long[] orderIds = new long[1024];
+        int[] epochDays = new int[1024];
+        byte[] statusCodes = new byte[1024];
+        int[] memberCodes = new int[1024];
+        int[] itemCodes = new int[1024];
+        int[] orderPrices = new int[1024];
+        int[] counts = new int[1024];
+        final List<String> memberNames = new ArrayList<>();
+        final List<String> itemNames = new ArrayList<>();
+        final Map<String, Integer> memberDictionary = new HashMap<>();
+        final Map<Long, Integer> itemDictionary = new HashMap<>();
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+
+        void add(OrderFlatDto row) {
+            if (size == orderIds.length) {
+                int capacity = size * 2;
+                orderIds = Arrays.copyOf(orderIds, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                statusCodes = Arrays.copyOf(statusCodes, capacity);
+                memberCodes = Arrays.copyOf(memberCodes, capacity);
+                itemCodes = Arrays.copyOf(itemCodes, capacity);
+                orderPrices = Arrays.copyOf(orderPrices, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            int epochDay = (int) row.getOrderDate().toLocalDate().toEpochDay();
+            orderIds[size] = row.getOrderId();
+            epochDays[size] = epochDay;
+            statusCodes[size] = (byte) row.getOrderStatus().ordinal();
+            memberCodes[size] = encode(memberDictionary, memberNames, row.getName());
+            itemCodes[size] = encodeItem(row.getItemId(), row.getItemName());
+            orderPrices[size] = row.getOrderPrice();
+            counts[size] = row.getCount();
+            minDay = Math.min(minDay, epochDay);
+            maxDay = Math.max(maxDay, epochDay);
+            size++;
+        }
+
+        Columns build() {
+            return new Columns(this);
+        }
+
+        private static int encode(Map<String, Integer> dictionary, List<String> values, String value) {
+            return dictionary.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        //상품 식별자로 코드를 정하고 상품명은 코드 위치에 라벨로만 저장
+        private int encodeItem(Long itemId, String itemName) {
+            return itemDictionary.computeIfAbsent(itemId, id -> {
+                itemNames.add(itemName);
+                return itemNames.size() - 1;
+            });
+        }
+    }
+
+}
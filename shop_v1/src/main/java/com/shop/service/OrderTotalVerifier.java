@@ -0,0 +1,57 @@
+package com.shop.service;
+
+import com.shop.domain.Order;
+import com.shop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 주문 합계 정합성 검증 배치
+ * - 반정규화된 orders.total_price, line_count 를 주문상품 기준 값과 비교한다
+ * - 불일치 주문은 로그를 남기고 주문상품 기준으로 다시 계산
+ * - 주문 식별자 순으로 나누어 처리하고 구간마다 트랜잭션을 커밋해 긴 락을 피한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderTotalVerifier {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${shop.order.total-verify-cron:0 0 4 * * *}")
+    public int verify() {
+        long lastOrderId = 0L;
+        int fixed = 0;
+        while (true) {
+            long after = lastOrderId;
+            List<Long> orderIds = transactionTemplate.execute(status -> fix(after));
+            if (orderIds == null || orderIds.isEmpty()) {
+                break;
+            }
+            fixed += orderIds.size();
+            lastOrderId = orderIds.get(orderIds.size() - 1);
+        }
+        log.info("order total verified: fixed={}", fixed);
+        return fixed;
+    }
+
+    private List<Long> fix(long afterOrderId) {
+        List<Long> orderIds = orderRepository.findOrderIdsWithInvalidTotal(afterOrderId, BATCH_SIZE);
+        for (Long orderId : orderIds) {
+            Order order = orderRepository.findOne(orderId);
+            log.warn("order total mismatch: orderId={}, totalPrice={}, lineCount={}",
+                    orderId, order.getTotalPrice(), order.getLineCount());
+            order.recalculateTotal();
+        }
+        return orderIds;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.shop.service;
+
+import com.shop.domain.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 구독자
+ * - 빈으로 등록하면 OutboxPoller 가 배치 단위로 이벤트를 전달한다
+ * - 최소 한번 전달(at-least-once) - 예외가 발생하면 발행 기록이 롤백되어 같은 이벤트를 다시 받는다
+ * - 같은 이벤트를 여러 번 받아도 결과가 같도록(멱등) 구현해야 한다
+ * - 늦게 커밋된 이벤트는 식별자가 더 큰 이벤트보다 나중에 올 수 있다
+ */
+public interface OutboxEventSubscriber {
+
+    void onEvents(List<OutboxEvent> events);
+
+}
@@ -0,0 +1,61 @@
+package com.shop.service;
+
+import com.shop.domain.OutboxEvent;
+import com.shop.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아웃박스 발행
+ * - 미발행 이벤트를 배치로 읽어 등록된 구독자에게 전달하고 발행 시각을 기록한다
+ * - 전달과 발행 기록이 한 트랜잭션 > 구독자가 실패하면 미발행으로 남아 다음 폴링에서 다시 전달
+ * - 기준 식별자(오프셋)를 두지 않으므로 늦게 커밋된 이벤트도 건너뛰지 않는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPoller {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<OutboxEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${shop.outbox.poll-interval:PT1S}")
+    public void poll() {
+        List<OutboxEventSubscriber> targets = subscribers.orderedStream().toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(targets));
+            } while (published != null && published == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("outbox publish failed, retry next poll", e);
+        }
+    }
+
+    private int publishBatch(List<OutboxEventSubscriber> targets) {
+        List<OutboxEvent> events = outboxRepository.findUnpublishedForUpdate(BATCH_SIZE);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (OutboxEventSubscriber subscriber : targets) {
+            subscriber.onEvents(events);
+        }
+        LocalDateTime publishedAt = LocalDateTime.now();
+        events.forEach(event -> event.markPublished(publishedAt));
+        return events.size();
+    }
+
+}
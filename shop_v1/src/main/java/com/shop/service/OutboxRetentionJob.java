@@ -0,0 +1,54 @@
+package com.shop.service;
+
+import com.shop.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 보관 기간 정리 배치
+ * - 발행된 지 보관 기간이 지난 이벤트를 삭제해 outbox_event 가 계속 커지지 않도록 한다
+ * - 미발행 이벤트는 보관 기간과 관계없이 남긴다(구독자가 실패하는 동안 이벤트를 잃지 않도록)
+ * - 배치 단위로 삭제하고 바로 커밋 > 폴링과 락 경합을 짧게 유지
+ */
+@Slf4j
+@Component
+public class OutboxRetentionJob {
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public OutboxRetentionJob(OutboxRepository outboxRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${shop.outbox.retention:P7D}") Duration retention,
+                              @Value("${shop.outbox.purge-batch-size:1000}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${shop.outbox.purge-cron:0 0 4 * * *}")
+    public int purge() {
+        LocalDateTime publishedBefore = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(
+                    status -> outboxRepository.deletePublishedBefore(publishedBefore, batchSize));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        log.info("outbox purge finished: purged={}, publishedBefore={}", purged, publishedBefore);
+        return purged;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.shop.service;
+
+import com.shop.domain.OutboxEvent;
+import com.shop.domain.OutboxEventType;
+import com.shop.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+
+    //변경과 같은 트랜잭션에서만 기록 - 트랜잭션 밖에서 호출하면 예외
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType eventType, Long aggregateId) {
+        outboxRepository.save(OutboxEvent.createOutboxEvent(eventType, aggregateId));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.shop.service;
+
+import com.shop.domain.Order;
+import com.shop.domain.OrderItem;
+import com.shop.dto.DailySalesQueryDto;
+import com.shop.repository.DailySalesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 일자 x 상품 매출 집계
+ * - 주문/취소와 같은 트랜잭션에서 집계 행을 증감 > 주문이 롤백되면 집계도 롤백
+ * - 취소는 취소한 날이 아닌 주문일의 매출에서 차감한다(일자별 순매출)
+ * - 집계 행은 MERGE 로 증가 또는 생성 - 주문 트랜잭션의 커넥션 하나만 사용한다(커넥션을 추가로 잡지 않음)
+ * - 동시에 같은 행을 만들려고 하면 중복 키 예외가 난 쪽은 한번 더 MERGE 해서 생성된 행을 증가(재시도는 한번만)
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private final DailySalesRepository dailySalesRepository;
+
+    @Transactional
+    public void recordOrder(Order order) {
+        record(order, 1);
+    }
+
+    @Transactional
+    public void recordCancel(Order order) {
+        record(order, -1);
+    }
+
+    //기본 DB 에 주문 엔티티가 없는 주문(샤드 주문)의 주문상품 한 건 - 주문은 sign 1, 보상은 sign -1
+    @Transactional
+    public void recordLine(LocalDate salesDate, Long itemId, int sign, int count, int orderPrice) {
+        increase(salesDate, itemId, sign, (long) sign * count, (long) sign * orderPrice * count);
+    }
+
+    public List<DailySalesQueryDto> findDailyTotals(LocalDate from, LocalDate to) {
+        return dailySalesRepository.findDailyTotals(from, to);
+    }
+
+    public List<DailySalesQueryDto> findItemSales(LocalDate from, LocalDate to, Long itemId) {
+        return dailySalesRepository.findItemSales(from, to, itemId);
+    }
+
+    private void record(Order order, int sign) {
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            Long itemId = orderItem.getItem().getId();
+            long quantity = (long) sign * orderItem.getCount();
+            long amount = (long) sign * orderItem.getTotalPrice();
+            increase(salesDate, itemId, sign, quantity, amount);
+        }
+    }
+
+    private void increase(LocalDate salesDate, Long itemId, int sign, long quantity, long amount) {
+        try {
+            dailySalesRepository.increase(salesDate, itemId, sign, quantity, amount);
+        } catch (DuplicateKeyException e) {
+            //다른 트랜잭션이 먼저 생성 - 이제 행이 있으므로 증가만 된다
+            dailySalesRepository.increase(salesDate, itemId, sign, quantity, amount);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.shop.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 조회 합치기(single-flight)
+ * - 같은 키로 이미 실행 중인 조회가 있으면 새로 실행하지 않고 그 결과를 함께 받는다
+ * - ttl 이 0 보다 크면 결과를 ttl 동안 보관(마이크로 캐시) > 연속된 요청 폭주도 흡수
+ * - 실행한 쪽에서 예외가 나면 기다리던 쪽도 같은 예외를 받는다
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Cached<V>> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public SingleFlight(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        V cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            //캐시 확인과 등록 사이에 앞선 실행이 끝났을 수 있다
+            V value = getCached(key);
+            if (value == null) {
+                value = loader.get();
+                putCached(key, value);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            //캐시에 먼저 넣고 제거해야 뒤따르는 요청이 다시 실행하지 않는다
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V getCached(K key) {
+        if (ttlNanos <= 0) {
+            return null;
+        }
+        Cached<V> cached = cache.get(key);
+        return cached != null && cached.expiresAt - System.nanoTime() > 0 ? cached.value : null;
+    }
+
+    private void putCached(K key, V value) {
+        if (ttlNanos <= 0 || value == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        //만료된 항목 정리 - 키 수가 적다는 전제
+        cache.values().removeIf(c -> c.expiresAt - now <= 0);
+        cache.put(key, new Cached<>(value, now + ttlNanos));
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Cached<V>(V value, long expiresAt) {
+    }
+
+}
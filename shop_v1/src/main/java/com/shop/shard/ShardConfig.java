@@ -0,0 +1,73 @@
+package com.shop.shard;
+
+import com.shop.repository.ItemRepository;
+import com.shop.repository.MemberRepository;
+import com.shop.service.DataVersionTracker;
+import com.shop.service.OutboxService;
+import com.shop.service.SalesRollupService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 샤드 모드 설정(shop.shard.enabled=true)
+ * - 샤드마다 별도의 커넥션 풀을 만들고 시작할 때 샤드 테이블을 생성한다
+ * - 샤드 DataSource 는 빈으로 등록하지 않는다 > 기본 DataSource(JPA) 자동 설정이 그대로 유지된다
+ * - 샤드 주문에는 변경 버전이 없으므로 변경분 동기화(shop.order.changes.enabled)를 끄지 않으면 시작하지 않는다
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+@ConditionalOnProperty(prefix = "shop.shard", name = "enabled", havingValue = "true")
+public class ShardConfig {
+
+    @Bean
+    ShardedOrderRepository shardedOrderRepository(ShardProperties properties,
+                                                  @Value("${shop.order.changes.enabled:true}") boolean changesEnabled) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("shop.shard.urls 가 비어 있습니다.");
+        }
+        if (changesEnabled) {
+            throw new IllegalStateException(
+                    "샤드 주문은 /api/orders/changes 에 나타나지 않습니다. shop.order.changes.enabled=false 로 설정하세요.");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(properties.getUrls().get(i))
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setMaximumPoolSize(properties.getPoolSize());
+            shards.add(dataSource);
+        }
+        //샤드 수 만큼의 스레드로 동시에 조회(scatter)
+        ExecutorService executor = Executors.newFixedThreadPool(shards.size());
+        ShardedOrderRepository repository = new ShardedOrderRepository(shards, executor);
+        repository.createSchema();
+        return repository;
+    }
+
+    @Bean
+    ShardedOrderService shardedOrderService(ShardedOrderRepository shardedOrderRepository, ShardProperties properties,
+                                            MemberRepository memberRepository, ItemRepository itemRepository,
+                                            DataVersionTracker dataVersionTracker, SalesRollupService salesRollupService,
+                                            OutboxService outboxService, TransactionTemplate transactionTemplate) {
+        return new ShardedOrderService(shardedOrderRepository, new ShardOrderIdGenerator(properties.getNodeId()),
+                memberRepository, itemRepository, dataVersionTracker, salesRollupService, outboxService,
+                transactionTemplate);
+    }
+
+}
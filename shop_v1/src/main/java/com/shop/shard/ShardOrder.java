@@ -0,0 +1,29 @@
+package com.shop.shard;
+
+import com.shop.domain.Address;
+import com.shop.domain.DeliveryStatus;
+import com.shop.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 샤드에 저장하는 주문(주문 + 배송 + 주문상품)
+ * - 회원 이름, 배송지, 상품 이름을 함께 저장(비정규화) > 샤드에 회원/상품 테이블을 복제하지 않는다
+ */
+public record ShardOrder(Long orderId, Long memberId, String memberName, LocalDateTime orderDate,
+                         OrderStatus status, Address address, DeliveryStatus deliveryStatus,
+                         int totalPrice, List<Line> lines) {
+
+    public static ShardOrder create(Long orderId, Long memberId, String memberName, Address address, List<Line> lines) {
+        int totalPrice = lines.stream()
+                .mapToInt(line -> line.orderPrice() * line.count())
+                .sum();
+        return new ShardOrder(orderId, memberId, memberName, LocalDateTime.now(), OrderStatus.ORDER,
+                address, DeliveryStatus.READY, totalPrice, lines);
+    }
+
+    public record Line(Long orderItemId, Long itemId, String itemName, int orderPrice, int count) {
+    }
+
+}
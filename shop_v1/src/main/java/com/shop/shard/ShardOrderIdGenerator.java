@@ -0,0 +1,64 @@
+package com.shop.shard;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 샤드 전체에서 유일한 주문 식별자(스노우플레이크 방식)
+ * - 샤드마다 IDENTITY 를 쓰면 샤드끼리 식별자가 겹치므로 애플리케이션에서 발급한다
+ * - 41비트 시각(ms, EPOCH 기준) + 10비트 노드 + 12비트 순번
+ * - 시각이 앞자리이므로 식별자 순서 = 발급 순서 > 샤드 병합 정렬과 키셋 페이징 기준으로 그대로 사용
+ * - 노드 번호는 애플리케이션 인스턴스마다 달라야 한다(shop.shard.node-id)
+ */
+public class ShardOrderIdGenerator {
+
+    //2024-01-01T00:00:00Z
+    static final long EPOCH = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    public ShardOrderIdGenerator(long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    ShardOrderIdGenerator(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("노드 번호는 0 ~ " + MAX_NODE + " 이어야 합니다. node=" + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public long next() {
+        lock.lock();
+        try {
+            //시계가 뒤로 가도 마지막 시각을 계속 사용 > 식별자가 줄어들지 않는다
+            long millis = Math.max(clock.getAsLong(), lastMillis);
+            if (millis == lastMillis) {
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                //같은 ms 의 순번을 모두 쓰면 다음 ms 를 미리 사용(대기하지 않음)
+                if (sequence == 0) {
+                    millis++;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastMillis = millis;
+            return ((millis - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.shop.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shop.shard")
+public class ShardProperties {
+
+    //샤드 모드 사용 여부 - 기본은 단일 DB
+    private boolean enabled = false;
+
+    //샤드 번호 순서대로의 JDBC URL - 샤드 번호 = member_id % 샤드 수
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    //샤드 하나당 커넥션 풀 크기
+    private int poolSize = 10;
+
+    //주문 식별자 발급 노드 번호(0 ~ 1023) - 인스턴스마다 달라야 한다
+    private int nodeId = 0;
+
+}
@@ -0,0 +1,201 @@
+package com.shop.shard;
+
+import com.shop.domain.Address;
+import com.shop.domain.OrderStatus;
+import com.shop.dto.SimpleOrderQueryDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 샤드 주문 저장/조회
+ * - 주문, 배송, 주문상품은 member_id 기준으로 샤드 하나에 저장한다(샤드 번호 = member_id % 샤드 수)
+ * - 샤드 테이블은 회원 이름과 배송지를 함께 저장하므로 조인 없이 조회 > 샤드에 회원 테이블이 필요 없다
+ * - 주문 식별자는 샤드 전체에서 유일(ShardOrderIdGenerator) > 식별자 순 병합이 전체 순서와 같다
+ * - 회원 한 명의 주문은 해당 샤드 하나만 조회
+ * - 전체 목록은 모든 샤드에 동시에 조회하고(scatter) 주문 식별자 순으로 병합(gather)
+ * - 페이징은 키셋(lastId) - 샤드마다 lastId 이후 limit + 1 건만 읽으므로 깊은 페이지도 비용이 같다
+ */
+public class ShardedOrderRepository implements DisposableBean {
+
+    private static final String[] SCHEMA = {
+            "create table if not exists shard_orders (" +
+                    "order_id bigint primary key, " +
+                    "member_id bigint not null, " +
+                    "member_name varchar(255), " +
+                    "order_date timestamp not null, " +
+                    "status varchar(255) not null, " +
+                    "city varchar(255), " +
+                    "street varchar(255), " +
+                    "zipcode varchar(255), " +
+                    "delivery_status varchar(255) not null, " +
+                    "total_price int not null)",
+            "create index if not exists idx_shard_orders_member on shard_orders (member_id, order_id)",
+            "create table if not exists shard_order_item (" +
+                    "order_item_id bigint primary key, " +
+                    "order_id bigint not null, " +
+                    "item_id bigint not null, " +
+                    "item_name varchar(255), " +
+                    "order_price int not null, " +
+                    "count int not null)",
+            "create index if not exists idx_shard_order_item_order on shard_order_item (order_id)"
+    };
+
+    private static final String INSERT_ORDER_SQL =
+            "insert into shard_orders " +
+            "(order_id, member_id, member_name, order_date, status, city, street, zipcode, delivery_status, total_price) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "insert into shard_order_item (order_item_id, order_id, item_id, item_name, order_price, count) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private static final String SIMPLE_ORDER_SQL =
+            "select order_id, member_name, order_date, status, city, street, zipcode, total_price " +
+            "from shard_orders ";
+
+    private static final RowMapper<SimpleOrderQueryDto> SIMPLE_ORDER_MAPPER = (rs, rowNum) -> new SimpleOrderQueryDto(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getTimestamp(3).toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString(4)),
+            new Address(rs.getString(5), rs.getString(6), rs.getString(7)),
+            rs.getInt(8));
+
+    private final List<Shard> shards;
+    private final ExecutorService executor;
+
+    public ShardedOrderRepository(List<DataSource> dataSources, ExecutorService executor) {
+        this.shards = dataSources.stream()
+                .map(Shard::new)
+                .toList();
+        this.executor = executor;
+    }
+
+    //샤드마다 테이블이 없으면 생성
+    public void createSchema() {
+        for (Shard shard : shards) {
+            shard.jdbcTemplate.batchUpdate(SCHEMA);
+        }
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardOf(Long memberId) {
+        return Math.floorMod(memberId, shards.size());
+    }
+
+    //주문과 주문상품을 회원의 샤드 하나에 한 트랜잭션으로 저장
+    public void save(ShardOrder order) {
+        Shard shard = shards.get(shardOf(order.memberId()));
+        Address address = order.address();
+        shard.transactionTemplate.executeWithoutResult(status -> {
+            shard.jdbcTemplate.update(INSERT_ORDER_SQL,
+                    order.orderId(),
+                    order.memberId(),
+                    order.memberName(),
+                    Timestamp.valueOf(order.orderDate()),
+                    order.status().name(),
+                    address == null ? null : address.getCity(),
+                    address == null ? null : address.getStreet(),
+                    address == null ? null : address.getZipcode(),
+                    order.deliveryStatus().name(),
+                    order.totalPrice());
+            shard.jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, order.lines(), order.lines().size(), (ps, line) -> {
+                ps.setLong(1, line.orderItemId());
+                ps.setLong(2, order.orderId());
+                ps.setLong(3, line.itemId());
+                ps.setString(4, line.itemName());
+                ps.setInt(5, line.orderPrice());
+                ps.setInt(6, line.count());
+            });
+        });
+    }
+
+    public List<SimpleOrderQueryDto> findOrdersToDtoByMember(Long memberId) {
+        return shards.get(shardOf(memberId)).jdbcTemplate.query(
+                SIMPLE_ORDER_SQL + "where member_id = ? order by order_id", SIMPLE_ORDER_MAPPER, memberId);
+    }
+
+    //lastId 이후 최대 limit 건 - 샤드별 결과가 모두 식별자 순이므로 병합 후 앞에서부터 자른다
+    public List<SimpleOrderQueryDto> findOrdersToDto(Long lastId, int limit) {
+        long after = lastId == null ? Long.MIN_VALUE : lastId;
+        List<CompletableFuture<List<SimpleOrderQueryDto>>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.jdbcTemplate.query(
+                        SIMPLE_ORDER_SQL + "where order_id > ? order by order_id limit ?",
+                        SIMPLE_ORDER_MAPPER, after, limit), executor))
+                .toList();
+
+        List<Iterator<SimpleOrderQueryDto>> results = new ArrayList<>();
+        for (CompletableFuture<List<SimpleOrderQueryDto>> future : futures) {
+            results.add(future.join().iterator());
+        }
+        return merge(results, limit);
+    }
+
+    //샤드별로 정렬된 결과를 k-way 병합
+    private List<SimpleOrderQueryDto> merge(List<Iterator<SimpleOrderQueryDto>> results, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head h) -> h.order.getOrderId()));
+        for (Iterator<SimpleOrderQueryDto> result : results) {
+            if (result.hasNext()) {
+                heads.add(new Head(result.next(), result));
+            }
+        }
+
+        List<SimpleOrderQueryDto> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head head = heads.poll();
+            merged.add(head.order);
+            if (head.rest.hasNext()) {
+                heads.add(new Head(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        for (Shard shard : shards) {
+            if (shard.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    //종료 중이므로 무시
+                }
+            }
+        }
+    }
+
+    //샤드 하나 - 기본 트랜잭션 매니저(JPA)와 별개로 샤드 DataSource 전용 트랜잭션을 사용
+    private static class Shard {
+
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        Shard(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+
+    private record Head(SimpleOrderQueryDto order, Iterator<SimpleOrderQueryDto> rest) {
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.shop.shard;
+
+import com.shop.domain.Member;
+import com.shop.domain.OutboxEventType;
+import com.shop.domain.item.Item;
+import com.shop.repository.ItemRepository;
+import com.shop.repository.MemberRepository;
+import com.shop.service.DataVersionTracker;
+import com.shop.service.DataVersionTracker.Table;
+import com.shop.service.OutboxService;
+import com.shop.service.SalesRollupService;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 샤드 주문 생성
+ * - 회원, 상품(재고)은 기준 데이터로 기본 DB 에 두고 주문/배송/주문상품만 회원의 샤드에 저장
+ * - 기본 DB 와 샤드는 한 트랜잭션으로 묶을 수 없으므로
+ *   재고 차감을 먼저 커밋하고 샤드에 저장, 샤드 저장이 실패하면 차감한 재고를 되돌린다(보상)
+ *   > 어느 단계에서 실패해도 재고보다 많이 팔리지는 않는다
+ * - 매출 집계, 아웃박스(ORDER_CREATED), 주문 버전은 재고 차감과 같은 기본 DB 트랜잭션에서 기록
+ *   > 보상할 때 집계를 차감하고 ORDER_CANCELED 를 기록한다
+ * - 주문 변경 버전(change_version)은 기본 DB 주문 테이블의 컬럼이므로 샤드 모드에서는 변경분 동기화를 끈다(ShardConfig)
+ */
+public class ShardedOrderService {
+
+    private final ShardedOrderRepository shardedOrderRepository;
+    private final ShardOrderIdGenerator idGenerator;
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final DataVersionTracker dataVersionTracker;
+    private final SalesRollupService salesRollupService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardedOrderService(ShardedOrderRepository shardedOrderRepository, ShardOrderIdGenerator idGenerator,
+                               MemberRepository memberRepository, ItemRepository itemRepository,
+                               DataVersionTracker dataVersionTracker, SalesRollupService salesRollupService,
+                               OutboxService outboxService, TransactionTemplate transactionTemplate) {
+        this.shardedOrderRepository = shardedOrderRepository;
+        this.idGenerator = idGenerator;
+        this.memberRepository = memberRepository;
+        this.itemRepository = itemRepository;
+        this.dataVersionTracker = dataVersionTracker;
+        this.salesRollupService = salesRollupService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Long order(Long memberId, Long itemId, int count) {
+        ShardOrder order = transactionTemplate.execute(status -> {
+            Member member = memberRepository.findOne(memberId);
+            Item item = itemRepository.findOne(itemId);
+            item.decreaseStock(count);
+
+            ShardOrder.Line line = new ShardOrder.Line(idGenerator.next(), item.getId(), item.getName(), item.getPrice(), count);
+            ShardOrder created = ShardOrder.create(idGenerator.next(), member.getId(), member.getName(), member.getAddress(), List.of(line));
+            record(created, 1, OutboxEventType.ORDER_CREATED);
+            return created;
+        });
+
+        try {
+            shardedOrderRepository.save(order);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.findOne(itemId).increaseStock(count);
+                record(order, -1, OutboxEventType.ORDER_CANCELED);
+            });
+            throw e;
+        }
+        return order.orderId();
+    }
+
+    //기본 DB 트랜잭션 안에서 매출 집계, 아웃박스, 주문/상품 버전을 함께 기록
+    private void record(ShardOrder order, int sign, OutboxEventType eventType) {
+        for (ShardOrder.Line line : order.lines()) {
+            salesRollupService.recordLine(order.orderDate().toLocalDate(), line.itemId(), sign, line.count(), line.orderPrice());
+        }
+        outboxService.record(eventType, order.orderId());
+        dataVersionTracker.bump(Table.ORDER);
+        dataVersionTracker.bump(Table.ITEM);
+    }
+
+}
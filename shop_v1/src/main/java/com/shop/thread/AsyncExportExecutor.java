@@ -0,0 +1,119 @@
+package com.shop.thread;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 오래 걸리는 내보내기/리포트 조회 전용 실행기
+ * - 조회와 직렬화를 톰캣 요청 스레드 대신 이 실행기에서 실행 > 요청 스레드는 바로 반납
+ * - 스레드 수가 곧 내보내기가 동시에 사용하는 커넥션 수 - 커넥션 풀 크기 계산은 application.yml 참고
+ * - 대기열이 가득 차면 TaskRejectedException > 503 응답
+ * - 시간 초과나 오류로 요청이 끝나면 ExportGuard 가 이후 응답 쓰기를 막고 작업을 멈춘다
+ * - Executor 빈으로 등록하면 스프링 부트 기본 실행기(applicationTaskExecutor)가 빠지므로 내부에서만 생성한다
+ */
+@Component
+public class AsyncExportExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final long timeoutMillis;
+
+    public AsyncExportExecutor(@Value("${shop.async.export.pool-size:2}") int poolSize,
+                               @Value("${shop.async.export.queue-capacity:10}") int queueCapacity,
+                               @Value("${shop.async.export.timeout:PT5M}") Duration timeout) {
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("async-export-");
+        executor.initialize();
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public WebAsyncTask<Void> submit(ExportTask task) {
+        ExportGuard guard = new ExportGuard();
+        WebAsyncTask<Void> asyncTask = new WebAsyncTask<>(timeoutMillis, executor, () -> {
+            task.run(guard);
+            return null;
+        });
+        //콜백이 끝나야 응답이 완료된다 > 취소 이후의 쓰기는 응답에 닿지 않는다
+        asyncTask.onTimeout(() -> {
+            guard.cancel();
+            throw new AsyncRequestTimeoutException();
+        });
+        asyncTask.onError(() -> {
+            guard.cancel();
+            return null;
+        });
+        return asyncTask;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface ExportTask {
+        void run(ExportGuard guard) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IoCallable<T> {
+        T call() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface IoAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * 응답 쓰기 보호
+     * - 요청이 끝난 뒤의 응답 객체는 다른 요청에 재사용될 수 있으므로 응답 접근은 모두 이 객체를 거친다
+     * - 취소와 쓰기가 같은 락을 사용 > 취소가 끝난 뒤에는 쓰기가 실행되지 않는다
+     *   (쓰는 중이면 취소는 그 쓰기가 끝나거나 소켓 타임아웃으로 실패할 때까지 기다린다)
+     * - 취소 이후 쓰기는 CancellationException - 스크롤이 멈추고 세션(커넥션)이 닫힌다
+     */
+    public static class ExportGuard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean cancelled;
+
+        public <T> T call(IoCallable<T> action) throws IOException {
+            lock.lock();
+            try {
+                if (cancelled) {
+                    throw new CancellationException("export request already completed");
+                }
+                return action.call();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public void run(IoAction action) throws IOException {
+            call(() -> {
+                action.run();
+                return null;
+            });
+        }
+
+        void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
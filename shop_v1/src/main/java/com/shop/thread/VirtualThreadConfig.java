@@ -0,0 +1,47 @@
+package com.shop.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 모드(shop.threads.virtual=true)
+ * - 톰캣 요청 처리를 요청마다 가상 스레드로 실행 > JDBC 대기 중인 스레드가 스레드 풀을 점유하지 않는다
+ * - 서비스는 요청 스레드에서 실행되므로 함께 가상 스레드에서 동작
+ * - 동시에 DB 를 사용하는 수는 스레드 수가 아니라 API 벌크헤드(shop.limit.*)와 커넥션 풀 크기로 제한한다
+ * - 빌드는 Java 17 이므로 가상 스레드 API 는 리플렉션으로 호출 > Java 21 이상에서 실행해야 한다
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "shop.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("tomcat request handling on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor() {
+        return new VirtualThreadPinningMonitor();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서 사용할 수 있습니다. java.version="
+                    + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 실행기를 생성할 수 없습니다.", e);
+        }
+    }
+
+}
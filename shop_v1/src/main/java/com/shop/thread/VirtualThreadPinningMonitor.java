@@ -0,0 +1,63 @@
+package com.shop.thread;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 고정(pinning) 감지
+ * - synchronized 블록이나 네이티브 호출 안에서 대기하면 가상 스레드가 캐리어 스레드를 놓지 못한다
+ * - JFR 의 jdk.VirtualThreadPinned 이벤트를 구독해서 발생 위치(스택 상위 프레임)를 로그로 남긴다
+ * - -Djdk.tracePinnedThreads 와 달리 애플리케이션 안에서 건수를 집계할 수 있다
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+    private static final int STACK_DEPTH = 8;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        String frames = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat "));
+        log.warn("virtual thread pinned for {}ms\n\tat {}", event.getDuration().toMillis(), frames);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.shop;
+
+import com.shop.domain.Address;
+import com.shop.domain.Member;
+import com.shop.domain.item.Book;
+import com.shop.service.OrderService;
+import com.shop.shard.ShardOrder;
+import com.shop.shard.ShardOrderIdGenerator;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * 테스트 공통 데이터
+ * - 회원, 상품, 주문 생성을 테스트마다 복사하지 않도록 한곳에 둔다
+ */
+public final class TestFixtures {
+
+    public static final Address ADDRESS = new Address("서울", "1", "1111");
+    public static final int BOOK_PRICE = 10000;
+
+    private TestFixtures() {
+    }
+
+    public static Member createMember(EntityManager em, String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(ADDRESS);
+        em.persist(member);
+        return member;
+    }
+
+    public static Book createBook(EntityManager em, String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        em.persist(book);
+        return book;
+    }
+
+    public static Book createBook(EntityManager em, String name) {
+        return createBook(em, name, BOOK_PRICE, 10);
+    }
+
+    //회원 한 명이 같은 상품을 1개씩 orderCount 번 주문 - 영속성 컨텍스트를 비운 상태로 반환
+    public static void createOrders(EntityManager em, OrderService orderService, String prefix, int orderCount) {
+        Member member = createMember(em, prefix + "Member");
+        Book book = createBook(em, prefix + "Book", BOOK_PRICE, orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orderService.order(member.getId(), book.getId(), 1);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    //주문상품 한 건짜리 샤드 주문
+    public static ShardOrder shardOrder(ShardOrderIdGenerator idGenerator, long memberId) {
+        ShardOrder.Line line = new ShardOrder.Line(idGenerator.next(), 1L, "book", BOOK_PRICE, 1);
+        return ShardOrder.create(idGenerator.next(), memberId, "member", ADDRESS, List.of(line));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.shop.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 엔티티를 직접 반환하는 API 직렬화
+ * - 바이트코드 향상이 적용되면 지연 로딩 대상이 프록시 대신 향상된 엔티티가 된다
+ * - 트랜잭션이 끝난 뒤 직렬화해도 향상용 필드가 노출되거나 지연 로딩 예외가 나지 않는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EntityApiSerializationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void ordersV1_1() throws Exception {
+        mockMvc.perform(get("/api/v1-1/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].member.name").exists())
+                .andExpect(jsonPath("$[0].delivery.address").exists())
+                .andExpect(jsonPath("$[0].orderItems[0].item.name").exists())
+                .andExpect(content().string(not(containsString("$$_hibernate"))));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.shop.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 필드 선택 조회 API
+ * - 요청한 필드만 응답하고 지원하지 않는 필드는 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderFieldApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void simpleOrdersSelectedFields() throws Exception {
+        mockMvc.perform(get("/api/v6/simple-orders").param("fields", "orderId,orderStatus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").exists())
+                .andExpect(jsonPath("$[0].orderStatus").exists())
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+    }
+
+    @Test
+    void ordersSelectedFields() throws Exception {
+        mockMvc.perform(get("/api/v9/orders").param("fields", "orderStatus,orderItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderStatus").exists())
+                .andExpect(jsonPath("$[0].orderItems[0].itemName").exists())
+                .andExpect(jsonPath("$[0].orderId").doesNotExist());
+    }
+
+    @Test
+    void unknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v6/simple-orders").param("fields", "orderId,password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v9/orders").param("fields", "orderItems,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
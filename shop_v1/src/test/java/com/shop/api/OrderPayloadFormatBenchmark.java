@@ -0,0 +1,75 @@
+package com.shop.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.shop.domain.Address;
+import com.shop.domain.OrderStatus;
+import com.shop.dto.OrderItemQueryDto;
+import com.shop.dto.OrderQueryDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 1만건 기준 응답 포맷별 크기와 직렬화 시간 비교
+ * - 기본 빌드에서는 실행하지 않는다 > SHOP_BENCHMARK=true ./gradlew test --tests '*OrderPayloadFormatBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "SHOP_BENCHMARK", matches = "true")
+class OrderPayloadFormatBenchmark {
+
+    static final int ORDER_COUNT = 10_000;
+    static final int ROUNDS = 20;
+
+    @Test
+    void compareFormats() throws Exception {
+
+        List<OrderQueryDto> orders = createOrders();
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        int jsonBytes = measure("json", json, orders);
+        int cborBytes = measure("cbor", cbor, orders);
+        int smileBytes = measure("smile", smile, orders);
+
+        assertThat(cborBytes).isLessThan(jsonBytes);
+        assertThat(smileBytes).isLessThan(jsonBytes);
+    }
+
+    private int measure(String format, ObjectMapper mapper, List<OrderQueryDto> orders) throws Exception {
+        //워밍업
+        int size = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            size = mapper.writeValueAsBytes(orders).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(orders);
+        }
+        long elapsed = (System.nanoTime() - start) / ROUNDS;
+        System.out.printf("%-5s bytes=%,d time=%.2fms / %,d orders%n", format, size, elapsed / 1_000_000.0, ORDER_COUNT);
+        return size;
+    }
+
+    private List<OrderQueryDto> createOrders() {
+        List<OrderQueryDto> orders = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= ORDER_COUNT; i++) {
+            List<OrderItemQueryDto> orderItems = List.of(
+                    new OrderItemQueryDto(i, "JPA1 BOOK", 10000, 1),
+                    new OrderItemQueryDto(i, "JPA2 BOOK", 20000, 2));
+            orders.add(new OrderQueryDto(i, "user" + i, now, OrderStatus.ORDER,
+                    new Address("서울", "1", "1111"), 50000, orderItems));
+        }
+        return orders;
+    }
+
+}
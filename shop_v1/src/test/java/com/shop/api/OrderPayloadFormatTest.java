@@ -0,0 +1,55 @@
+package com.shop.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Accept 헤더에 따른 응답 포맷(JSON, CBOR, Smile)
+ * - 같은 주문 목록이 포맷만 바뀌어 내려오는지 디코딩해서 비교
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderPayloadFormatTest {
+
+    static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void binaryFormatsByAcceptHeader() throws Exception {
+
+        JsonNode json = request(MediaType.APPLICATION_JSON_VALUE, new ObjectMapper());
+        JsonNode cbor = request("application/cbor", new ObjectMapper(new CBORFactory()));
+        JsonNode smile = request(SMILE, new ObjectMapper(new SmileFactory()));
+
+        assertThat(json.isArray()).isTrue();
+        assertThat(json).isNotEmpty();
+        assertThat(json.get(0).has("orderItems")).isTrue();
+        assertThat(cbor).isEqualTo(json);
+        assertThat(smile).isEqualTo(json);
+    }
+
+    private JsonNode request(String accept, ObjectMapper decoder) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v4/orders").header("Accept", accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        return decoder.readTree(body);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.shop.domain;
+
+import com.shop.domain.item.Book;
+import com.shop.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.shop.TestFixtures.createBook;
+import static com.shop.TestFixtures.createMember;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 바이트코드 향상 적용 확인
+ * - 연관관계 주인이 아닌 Delivery.order 가 실제로 지연 로딩되는지
+ * - 변경 추적 - 변경된 엔티티만 flush 대상이 되는지
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DeliveryLazyLoadingTest {
+
+    static final int BOOK_COUNT = 10;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderService orderService;
+
+    @Test
+    void deliveryDoesNotLoadOrder() {
+
+        Member member = createMember(em, "lazyMember");
+        Book book = createBook(em, "lazyBook");
+
+        Long orderId = orderService.order(member.getId(), book.getId(), 1);
+        Long deliveryId = em.find(Order.class, orderId).getDelivery().getId();
+        em.flush();
+        em.clear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        Delivery delivery = em.find(Delivery.class, deliveryId);
+
+        //향상이 없으면 Order 를 채우기 위해 select 가 한번 더 실행된다
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(Hibernate.isPropertyInitialized(delivery, "order")).isFalse();
+
+        assertThat(delivery.getOrder().getId()).isEqualTo(orderId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dirtyTrackingUpdatesOnlyChangedEntity() {
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            createBook(em, "dirtyBook" + i);
+        }
+        em.flush();
+        em.clear();
+
+        List<Book> books = em.createQuery("select b from Book b where b.name like 'dirtyBook%'", Book.class)
+                .getResultList();
+        Book changed = books.get(0);
+        changed.setPrice(20000);
+
+        //향상된 엔티티는 변경된 필드를 스스로 기록한다 - flush 때 스냅샷 비교 대상이 아니다
+        assertThat(changed).isInstanceOf(SelfDirtinessTracker.class);
+        assertThat(((SelfDirtinessTracker) changed).$$_hibernate_getDirtyAttributes()).containsExactly("price");
+        assertThat(((SelfDirtinessTracker) books.get(1)).$$_hibernate_hasDirtyAttributes()).isFalse();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        em.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.shop.domain;
+
+import com.shop.domain.item.Book;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.shop.TestFixtures.createBook;
+
+/**
+ * 영속성 컨텍스트에 엔티티 5천건이 있을 때 한 건만 변경하고 flush 하는 시간
+ * - 바이트코드 향상(변경 추적)이 적용되면 스냅샷 비교 없이 변경된 엔티티만 확인한다
+ * - 기본 빌드에서는 실행하지 않는다 > SHOP_BENCHMARK=true ./gradlew test --tests '*EntityFlushBenchmark'
+ * - 변경 추적 자체의 검증은 DeliveryLazyLoadingTest
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SHOP_BENCHMARK", matches = "true")
+class EntityFlushBenchmark {
+
+    static final int BOOK_COUNT = 5_000;
+    static final int ROUNDS = 20;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void flushLargePersistenceContext() {
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            createBook(em, "flushBook" + i);
+        }
+        em.flush();
+        em.clear();
+
+        List<Book> books = em.createQuery("select b from Book b where b.name like 'flushBook%'", Book.class)
+                .getResultList();
+
+        //워밍업
+        for (int i = 0; i < ROUNDS; i++) {
+            books.get(0).setPrice(20000 + i);
+            em.flush();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            books.get(0).setPrice(30000 + i);
+            em.flush();
+        }
+        long elapsed = (System.nanoTime() - start) / ROUNDS;
+
+        System.out.printf("flush entities=%,d dirty=1 time=%.2fms%n", books.size(), elapsed / 1_000_000.0);
+    }
+
+}
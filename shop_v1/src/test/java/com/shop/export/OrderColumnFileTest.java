@@ -0,0 +1,59 @@
+package com.shop.export;
+
+import com.shop.domain.Address;
+import com.shop.domain.OrderStatus;
+import com.shop.dto.OrderFlatDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderColumnFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writeAndRead() throws Exception {
+
+        //그룹 크기(64K)를 넘겨서 여러 그룹으로 나뉘도록
+        int rows = 100_000;
+        LocalDateTime orderDate = LocalDateTime.of(2023, 11, 25, 10, 30);
+        Path file = dir.resolve("orders.col");
+
+        long expectedAmount = 0;
+        try (OrderColumnWriter writer = new OrderColumnWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                int price = 1000 + i % 10;
+                int count = 1 + i % 3;
+                expectedAmount += (long) price * count;
+                writer.write(new OrderFlatDto((long) i, "user" + i % 100, orderDate,
+                        i % 2 == 0 ? OrderStatus.ORDER : OrderStatus.CANCEL,
+                        i % 7 == 0 ? null : new Address("서울", "1", "1111"),
+                        (long) i % 50, "BOOK" + i % 50, price, count));
+            }
+        }
+
+        try (OrderColumnReader reader = new OrderColumnReader(file)) {
+            assertThat(reader.getTotalRows()).isEqualTo(rows);
+            assertThat(reader.getGroupCount()).isEqualTo(2);
+            assertThat(reader.sumAmount()).isEqualTo(expectedAmount);
+
+            OrderColumnReader.RowGroup last = reader.group(1);
+            int row = last.size() - 1;
+            assertThat(last.orderId(row)).isEqualTo(rows - 1);
+            assertThat(last.memberName(row)).isEqualTo("user" + (rows - 1) % 100);
+            assertThat(last.itemName(row)).isEqualTo("BOOK" + (rows - 1) % 50);
+            assertThat(last.status(row)).isEqualTo(OrderStatus.CANCEL);
+            assertThat(last.orderDate(row)).isEqualTo(orderDate);
+            assertThat(last.city(row)).isEqualTo("서울");
+
+            OrderColumnReader.RowGroup first = reader.group(0);
+            assertThat(first.city(0)).isNull();
+        }
+    }
+
+}
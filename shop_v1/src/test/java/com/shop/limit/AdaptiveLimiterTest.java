@@ -0,0 +1,109 @@
+package com.shop.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+    static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+
+        AdaptiveLimiter limiter = AdaptiveLimiter.fixed("test", 1, TimeUnit.SECONDS.toNanos(10), 1);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        //대기열 한 자리를 다른 스레드가 차지
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> acquire(limiter));
+        while (limiter.stats().waiting() < 1) {
+            Thread.sleep(1);
+        }
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+
+        //자리가 나면 대기하던 요청이 실행된다
+        limiter.release(FAST, false);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectAfterMaxWait() throws Exception {
+
+        long maxWait = TimeUnit.MILLISECONDS.toNanos(50);
+        AdaptiveLimiter limiter = AdaptiveLimiter.fixed("test", 1, maxWait, 10);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(maxWait);
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+        assertThat(limiter.stats().waiting()).isZero();
+    }
+
+    @Test
+    void backOffOnSlowOrFailedRelease() throws Exception {
+
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 100, 1, 200, THRESHOLD, 0, 0);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.stats().limit()).isEqualTo(90);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.stats().limit()).isEqualTo(81);
+    }
+
+    @Test
+    void backOffStopsAtMinLimit() throws Exception {
+
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 8, 200, THRESHOLD, 0, 0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW, false);
+        }
+        assertThat(limiter.stats().limit()).isEqualTo(8);
+    }
+
+    @Test
+    void growOnlyWhileSaturated() throws Exception {
+
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 1, 200, THRESHOLD, 0, 0);
+
+        //제한보다 적게 사용하는 동안은 늘리지 않는다
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+        assertThat(limiter.stats().limit()).isEqualTo(10);
+
+        //제한까지 꽉 찬 상태에서 정상 응답이 오면 늘린다
+        while (limiter.tryAcquire()) {
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.release(FAST, false);
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.stats().limit()).isEqualTo(11);
+    }
+
+    private static boolean acquire(AdaptiveLimiter limiter) {
+        try {
+            return limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package com.shop.repository;
 
 import com.shop.domain.Member;
 import com.shop.service.MemberService;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,8 @@ class MemberServiceTest {
     MemberService memberService;
     @Autowired
     MemberRepository memberRepository;
+    @Autowired
+    EntityManager em;
 
     @Test
 //    @Rollback(value = false)
@@ -46,4 +49,19 @@ class MemberServiceTest {
                 .isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    void duplicatedByUniqueConstraint() {
+
+        //서비스를 거치지 않고 저장 > 블룸 필터에는 없는 이름
+        Member member1 = new Member();
+        member1.setName("memberB");
+        em.persist(member1);
+
+        Member member2 = new Member();
+        member2.setName("memberB");
+
+        assertThatThrownBy(() -> memberService.join(member2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
 }
\ No newline at end of file
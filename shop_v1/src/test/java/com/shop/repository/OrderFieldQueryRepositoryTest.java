@@ -0,0 +1,73 @@
+package com.shop.repository;
+
+import com.shop.dto.OrderItemQueryDto;
+import com.shop.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.shop.TestFixtures.createOrders;
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderFieldQueryRepositoryTest {
+
+    @Autowired
+    OrderFieldQueryRepository orderFieldQueryRepository;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void orderColumnsOnlyDoNotJoin() {
+
+        String jpql = orderFieldQueryRepository.jpql(List.of("orderId", "orderStatus"));
+
+        assertThat(jpql).doesNotContain("join", "o.member", "o.delivery");
+        assertThat(jpql).startsWith("select o.id as orderId, o.status as orderStatus from Order o");
+    }
+
+    @Test
+    void joinOnlyRequestedAssociations() {
+
+        assertThat(orderFieldQueryRepository.jpql(List.of("orderId", "name")))
+                .contains("join o.member m")
+                .doesNotContain("o.delivery");
+        assertThat(orderFieldQueryRepository.jpql(List.of("address")))
+                .contains("join o.delivery d")
+                .doesNotContain("o.member");
+    }
+
+    @Test
+    void orderViewAttachesItemsWithoutRequestedOrderId() {
+
+        createOrders(em, orderService, "field", 3);
+
+        List<Map<String, Object>> orders = orderFieldQueryRepository.findOrdersWithItems(
+                List.of("orderStatus", "orderItems"), 0, 1000);
+
+        assertThat(orders).isNotEmpty();
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order).containsOnlyKeys("orderStatus", "orderItems");
+            assertThat((List<?>) order.get("orderItems")).isNotEmpty().hasOnlyElementsOfType(OrderItemQueryDto.class);
+        });
+    }
+
+    @Test
+    void unknownField() {
+
+        assertThatThrownBy(() -> orderFieldQueryRepository.findOrders(List.of("orderId", "password"), 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        //orderItems 는 주문 조회 형태에서만 지원
+        assertThatThrownBy(() -> orderFieldQueryRepository.findOrders(List.of("orderItems"), 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.shop.repository;
+
+import com.shop.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.shop.TestFixtures.createOrders;
+
+/**
+ * JdbcTemplate 조회와 JPA DTO 조회 시간
+ * - 기본 빌드에서는 실행하지 않는다 > SHOP_BENCHMARK=true ./gradlew test --tests '*OrderJdbcReadBenchmark'
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SHOP_BENCHMARK", matches = "true")
+class OrderJdbcReadBenchmark {
+
+    static final int ORDER_COUNT = 1_000;
+    static final int ROUNDS = 20;
+
+    @Autowired
+    OrderJdbcRepository orderJdbcRepository;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void readTime() {
+
+        createOrders(em, orderService, "benchmark", ORDER_COUNT);
+
+        measure("jpa  findOrdersToDto", orderRepository::findOrdersToDto);
+        measure("jdbc findOrdersToDto", orderJdbcRepository::findOrdersToDto);
+        measure("jpa  findOrdersAndItemsToDtoV3", orderRepository::findOrdersAndItemsToDtoV3);
+        measure("jdbc findOrdersAndItemsToDtoV3", orderJdbcRepository::findOrdersAndItemsToDtoV3);
+    }
+
+    private <T> void measure(String name, Supplier<List<T>> query) {
+        //워밍업
+        List<T> result = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            result = query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+        }
+        long elapsed = (System.nanoTime() - start) / ROUNDS;
+        System.out.printf("%-32s rows=%,d time=%.2fms%n", name, result.size(), elapsed / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.shop.repository;
+
+import com.shop.dto.OrderFlatDto;
+import com.shop.dto.OrderQueryDto;
+import com.shop.dto.SimpleOrderQueryDto;
+import com.shop.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.shop.TestFixtures.createOrders;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JdbcTemplate 조회와 JPA DTO 조회 결과 비교
+ */
+@SpringBootTest
+@Transactional
+class OrderJdbcRepositoryTest {
+
+    static final int ORDER_COUNT = 20;
+
+    @Autowired
+    OrderJdbcRepository orderJdbcRepository;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void sameResultAsJpa() {
+
+        createOrders(em, orderService, "jdbc", ORDER_COUNT);
+
+        List<SimpleOrderQueryDto> jpaSimple = orderRepository.findOrdersToDto();
+        List<SimpleOrderQueryDto> jdbcSimple = orderJdbcRepository.findOrdersToDto();
+        assertThat(sort(jdbcSimple, SimpleOrderQueryDto::getOrderId))
+                .usingRecursiveComparison()
+                .isEqualTo(sort(jpaSimple, SimpleOrderQueryDto::getOrderId));
+
+        List<OrderFlatDto> jpaFlat = orderRepository.findOrdersAndItemsToDtoV3();
+        List<OrderFlatDto> jdbcFlat = orderJdbcRepository.findOrdersAndItemsToDtoV3();
+        assertThat(jdbcFlat)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(jpaFlat);
+
+        List<OrderQueryDto> jpaOrders = orderRepository.findOrdersAndItemsToDtoV2();
+        List<OrderQueryDto> jdbcOrders = orderJdbcRepository.findOrdersAndItemsToDto();
+        assertThat(sort(jdbcOrders, OrderQueryDto::getOrderId))
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(sort(jpaOrders, OrderQueryDto::getOrderId));
+    }
+
+    private static <T> List<T> sort(List<T> list, Function<T, Long> key) {
+        return list.stream().sorted(Comparator.comparing(key)).toList();
+    }
+
+}
@@ -42,6 +42,7 @@ class OrderServiceTest {
         assertThat(findOrder.getStatus()).isEqualTo(OrderStatus.ORDER);
         assertThat(findOrder.getOrderItems().size()).isEqualTo(1);
         assertThat(findOrder.getTotalPrice()).isEqualTo(10000 * orderCount);
+        assertThat(findOrder.getLineCount()).isEqualTo(1);
         assertThat(book.getStockQuantity()).isEqualTo(10 - orderCount);
     }
 
@@ -0,0 +1,50 @@
+package com.shop.service;
+
+import com.shop.domain.Member;
+import com.shop.domain.item.Item;
+import com.shop.dto.SalesSummaryDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.shop.TestFixtures.createBook;
+import static com.shop.TestFixtures.createMember;
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderSnapshotTest {
+
+    @Autowired
+    OrderSnapshot orderSnapshot;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void sameNameItemsAreGroupedSeparately() {
+
+        Member member = createMember(em, "snapshotMember");
+        Item bookA = createBook(em, "snapshotBook", 10000, 10);
+        Item bookB = createBook(em, "snapshotBook", 20000, 10);
+
+        orderService.order(member.getId(), bookA.getId(), 1);
+        orderService.order(member.getId(), bookB.getId(), 1);
+        em.flush();
+
+        orderSnapshot.refresh();
+
+        List<SalesSummaryDto> sales = orderSnapshot.sumByItem(null, null, null).stream()
+                .filter(s -> s.getGroup().equals("snapshotBook"))
+                .toList();
+
+        assertThat(sales).extracting(SalesSummaryDto::getAmount)
+                .containsExactlyInAnyOrder(10000L, 20000L);
+    }
+
+}
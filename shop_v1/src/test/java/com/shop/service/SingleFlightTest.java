@@ -0,0 +1,98 @@
+package com.shop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 동시 요청 폭주(thundering herd) 시 실제 조회 횟수
+ * - 로더 호출 횟수 = DB 쿼리 실행 횟수
+ */
+class SingleFlightTest {
+
+    static final int CLIENTS = 50;
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+
+        SingleFlight<String, List<Integer>> singleFlight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger queries = new AtomicInteger();
+
+        List<List<Integer>> results = herd(() -> singleFlight.execute("orders", () -> {
+            queries.incrementAndGet();
+            sleep(200);
+            return List.of(1, 2, 3);
+        }));
+
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(r -> assertThat(r).containsExactly(1, 2, 3));
+    }
+
+    @Test
+    void ttlAbsorbsSequentialBurst() {
+
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        AtomicInteger queries = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            singleFlight.execute("orders", queries::incrementAndGet);
+        }
+        singleFlight.execute("other", queries::incrementAndGet);
+
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failureIsSharedAndNotCached() {
+
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> singleFlight.execute("orders", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("orders", () -> 1)).isEqualTo(1);
+    }
+
+    private <T> List<T> herd(Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
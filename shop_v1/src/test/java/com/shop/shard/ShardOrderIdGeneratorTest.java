@@ -0,0 +1,56 @@
+package com.shop.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardOrderIdGeneratorTest {
+
+    @Test
+    void increasingWithinSameMillisAndAfterSequenceOverflow() {
+
+        //시각이 멈춰 있어도 순번을 모두 쓰면 다음 ms 로 넘어간다
+        ShardOrderIdGenerator generator = new ShardOrderIdGenerator(3, () -> ShardOrderIdGenerator.EPOCH + 1000);
+        Set<Long> ids = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.next();
+            assertThat(id).isGreaterThan(previous);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    void clockMovingBackwardsKeepsOrder() {
+
+        long[] now = {ShardOrderIdGenerator.EPOCH + 5000};
+        ShardOrderIdGenerator generator = new ShardOrderIdGenerator(0, () -> now[0]);
+
+        long first = generator.next();
+        now[0] -= 1000;
+        long second = generator.next();
+
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+
+        ShardOrderIdGenerator node1 = new ShardOrderIdGenerator(1, () -> ShardOrderIdGenerator.EPOCH);
+        ShardOrderIdGenerator node2 = new ShardOrderIdGenerator(2, () -> ShardOrderIdGenerator.EPOCH);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(node1.next());
+            ids.add(node2.next());
+        }
+        assertThat(ids).hasSize(2000);
+        assertThatThrownBy(() -> new ShardOrderIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
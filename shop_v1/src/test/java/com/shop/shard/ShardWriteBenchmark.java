@@ -0,0 +1,65 @@
+package com.shop.shard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.shop.TestFixtures.shardOrder;
+
+/**
+ * 샤드 수(1, 2, 4)에 따른 주문 저장 처리량
+ * - 기본 빌드에서는 실행하지 않는다 > SHOP_BENCHMARK=true ./gradlew test --tests '*ShardWriteBenchmark'
+ * - 샤드는 같은 JVM 의 메모리 H2 이므로 CPU 를 나눠 쓴다 - DB 하나의 락/커밋 경합이 얼마나 줄어드는지만 본다
+ */
+@EnabledIfEnvironmentVariable(named = "SHOP_BENCHMARK", matches = "true")
+class ShardWriteBenchmark {
+
+    static final int CLIENTS = 16;
+    static final int ORDERS_PER_CLIENT = 2_000;
+
+    @Test
+    void writeThroughputByShardCount() throws Exception {
+        for (int shards : new int[]{1, 2, 4}) {
+            ShardedOrderRepository repository = ShardedOrderRepositoryTest.createRepository(shards);
+            try {
+                //워밍업
+                run(repository, ORDERS_PER_CLIENT / 10);
+                long elapsed = run(repository, ORDERS_PER_CLIENT);
+                double perSecond = CLIENTS * ORDERS_PER_CLIENT / (elapsed / 1_000_000_000.0);
+                System.out.printf("shards=%d clients=%d orders=%,d throughput=%,.0f orders/s%n",
+                        shards, CLIENTS, CLIENTS * ORDERS_PER_CLIENT, perSecond);
+            } finally {
+                repository.destroy();
+            }
+        }
+    }
+
+    private long run(ShardedOrderRepository repository, int ordersPerClient) throws Exception {
+        ShardOrderIdGenerator idGenerator = new ShardOrderIdGenerator(0);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                long memberId = c + 1;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ordersPerClient; i++) {
+                        repository.save(shardOrder(idGenerator, memberId));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
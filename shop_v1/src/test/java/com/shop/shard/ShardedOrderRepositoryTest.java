@@ -0,0 +1,113 @@
+package com.shop.shard;
+
+import com.shop.dto.SimpleOrderQueryDto;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static com.shop.TestFixtures.shardOrder;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 샤드 저장/조회 - 샤드마다 별도의 메모리 H2
+ */
+class ShardedOrderRepositoryTest {
+
+    static final int SHARDS = 2;
+    static final int MEMBERS = 10;
+    static final int ORDERS_PER_MEMBER = 5;
+
+    List<DataSource> dataSources = createDataSources(SHARDS);
+    ShardedOrderRepository repository = createRepository(dataSources);
+    ShardOrderIdGenerator idGenerator = new ShardOrderIdGenerator(0);
+
+    @AfterEach
+    void tearDown() {
+        repository.destroy();
+    }
+
+    //저장소를 거치지 않고 샤드 DB 를 직접 조회해서 회원의 주문과 주문상품이 member_id % 샤드 수 에만 있는지 확인
+    @Test
+    void memberOrdersStayOnOneShard() {
+
+        List<Long> orderIds = saveOrders();
+
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            int expectedShard = (int) (memberId % SHARDS);
+            for (int shard = 0; shard < SHARDS; shard++) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSources.get(shard));
+                Integer orders = jdbcTemplate.queryForObject(
+                        "select count(*) from shard_orders where member_id = ?", Integer.class, memberId);
+                Integer orderItems = jdbcTemplate.queryForObject(
+                        "select count(*) from shard_order_item oi join shard_orders o on o.order_id = oi.order_id " +
+                                "where o.member_id = ?", Integer.class, memberId);
+
+                int expected = shard == expectedShard ? ORDERS_PER_MEMBER : 0;
+                assertThat(orders).as("member %d, shard %d", memberId, shard).isEqualTo(expected);
+                assertThat(orderItems).as("member %d, shard %d", memberId, shard).isEqualTo(expected);
+            }
+            assertThat(repository.findOrdersToDtoByMember(memberId)).hasSize(ORDERS_PER_MEMBER);
+        }
+        assertThat(orderIds).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void keysetPagingMergesShardsInIdOrder() {
+
+        List<Long> orderIds = saveOrders();
+
+        List<Long> paged = new ArrayList<>();
+        Long lastId = null;
+        List<SimpleOrderQueryDto> page;
+        do {
+            page = repository.findOrdersToDto(lastId, 7);
+            page.forEach(o -> paged.add(o.getOrderId()));
+            lastId = page.isEmpty() ? lastId : page.get(page.size() - 1).getOrderId();
+        } while (page.size() == 7);
+
+        assertThat(paged).isSorted().containsExactlyElementsOf(orderIds.stream().sorted().toList());
+    }
+
+    private List<Long> saveOrders() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS_PER_MEMBER; i++) {
+            for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+                ShardOrder order = shardOrder(idGenerator, memberId);
+                repository.save(order);
+                orderIds.add(order.orderId());
+            }
+        }
+        return orderIds;
+    }
+
+    static ShardedOrderRepository createRepository(int shardCount) {
+        return createRepository(createDataSources(shardCount));
+    }
+
+    static ShardedOrderRepository createRepository(List<DataSource> dataSources) {
+        ShardedOrderRepository repository = new ShardedOrderRepository(dataSources, Executors.newFixedThreadPool(dataSources.size()));
+        repository.createSchema();
+        return repository;
+    }
+
+    //풀이 커넥션을 유지하는 동안 메모리 DB 가 남아 있다
+    static List<DataSource> createDataSources(int shardCount) {
+        String name = UUID.randomUUID().toString();
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + i);
+            dataSource.setUsername("sa");
+            dataSources.add(dataSource);
+        }
+        return dataSources;
+    }
+
+}